@@ -0,0 +1,73 @@
+package edu.yorku.sneaker_store_backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Primary/replica data source wiring.
+ * <p>
+ * {@code spring.datasource.*} configures the primary pool as before. Setting
+ * {@code app.datasource.replica.url} adds a second pool that serves read-only transactions; its
+ * credentials default to the primary's. The application-facing {@link DataSource} routes between the
+ * two (see {@link ReadWriteRoutingDataSource}); Flyway always migrates the primary.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties primaryDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryPool(@Qualifier("primaryDataSourceProperties") DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica")
+    @ConditionalOnProperty(prefix = "app.datasource.replica", name = "url")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    @ConditionalOnProperty(prefix = "app.datasource.replica", name = "url")
+    public HikariDataSource replicaPool(@Qualifier("replicaDataSourceProperties") DataSourceProperties properties,
+                                        @Qualifier("primaryDataSourceProperties") DataSourceProperties primary) {
+        if (properties.getUsername() == null) {
+            properties.setUsername(primary.determineUsername());
+            properties.setPassword(primary.determinePassword());
+        }
+        if (properties.getDriverClassName() == null) {
+            properties.setDriverClassName(primary.determineDriverClassName());
+        }
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setReadOnly(true);
+        return pool;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryPool") DataSource primaryPool,
+                                 @Qualifier("replicaPool") ObjectProvider<DataSource> replicaPool) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primaryPool, replicaPool.getIfAvailable()));
+    }
+}
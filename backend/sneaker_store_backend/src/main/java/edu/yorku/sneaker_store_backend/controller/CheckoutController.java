@@ -3,6 +3,11 @@ package edu.yorku.sneaker_store_backend.controller;
 import edu.yorku.sneaker_store_backend.dto.CheckoutRequestDto;
 import edu.yorku.sneaker_store_backend.dto.CheckoutResponseDto;
 import edu.yorku.sneaker_store_backend.service.CheckoutService;
+import edu.yorku.sneaker_store_backend.service.admission.AdmissionRejectedException;
+import edu.yorku.sneaker_store_backend.service.idempotency.IdempotencyService;
+import edu.yorku.sneaker_store_backend.service.idempotency.IdempotentResponse;
+import edu.yorku.sneaker_store_backend.service.payment.PaymentUnavailableException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,10 +19,16 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/api/checkout")
 public class CheckoutController {
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final CheckoutService checkoutService;
+    private final IdempotencyService idempotencyService;
 
-    public CheckoutController(CheckoutService checkoutService) {
+    public CheckoutController(CheckoutService checkoutService,
+                              IdempotencyService idempotencyService) {
         this.checkoutService = checkoutService;
+        this.idempotencyService = idempotencyService;
     }
 
     /**
@@ -37,18 +48,61 @@ public class CheckoutController {
      * </pre>
      * Sends back {@link CheckoutResponseDto} with the generated order number, status, total and
      * the normalized items list. Validation failures are returned with HTTP 400.
+     * <p>
+     * Clients that retry should send an <code>Idempotency-Key</code> header (e.g. a UUID per order
+     * attempt). The checkout then runs once per key: retries, including ones sent while the first
+     * attempt is still running, get the original response with <code>Idempotent-Replayed: true</code>.
+     * Reusing a key with a different body returns 422; a retry that gives up waiting for the first
+     * attempt returns 409.
+     * <p>
+     * Stock is reserved through {@code CheckoutAdmission}, which serializes orders for the same
+     * products and answers 429 (with <code>Retry-After</code>) when the queue is full. When the
+     * payment provider errors or times out the order is cancelled and 503 is returned; retrying is
+     * safe.
      */
     @PostMapping
-    public ResponseEntity<CheckoutResponseDto> checkout(@RequestBody CheckoutRequestDto request) {
+    public ResponseEntity<CheckoutResponseDto> checkout(
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody CheckoutRequestDto request) {
         try {
-            CheckoutResponseDto response = checkoutService.checkout(request);
-            return ResponseEntity.ok(response);
-        } catch (IllegalArgumentException | IllegalStateException ex) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+            if (idempotencyKey == null || idempotencyKey.isBlank()) {
+                IdempotentResponse<CheckoutResponseDto> response = process(request);
+                return ResponseEntity.status(response.status()).body(response.body());
+            }
+            IdempotentResponse<CheckoutResponseDto> response = idempotencyService.execute(
+                    idempotencyKey.trim(), request, CheckoutResponseDto.class, () -> process(request));
+            return ResponseEntity.status(response.status())
+                    .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(response.replayed()))
+                    .body(response.body());
+        } catch (AdmissionRejectedException ex) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
                     .body(errorResponse(ex.getMessage()));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                    .body(errorResponse(ex.getMessage()));
+        } catch (IllegalStateException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(errorResponse(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Runs the checkout and maps its outcome to a status. Admission rejections propagate so they are
+     * never stored as the key's response.
+     */
+    private IdempotentResponse<CheckoutResponseDto> process(CheckoutRequestDto request) {
+        try {
+            return IdempotentResponse.of(HttpStatus.OK.value(), checkoutService.checkout(request));
+        } catch (AdmissionRejectedException ex) {
+            throw ex;
+        } catch (PaymentUnavailableException ex) {
+            return IdempotentResponse.of(HttpStatus.SERVICE_UNAVAILABLE.value(), errorResponse(ex.getMessage()));
+        } catch (IllegalArgumentException | IllegalStateException ex) {
+            return IdempotentResponse.of(HttpStatus.BAD_REQUEST.value(), errorResponse(ex.getMessage()));
         } catch (Exception ex) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(errorResponse("Unable to process checkout"));
+            return IdempotentResponse.of(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                    errorResponse("Unable to process checkout"));
         }
     }
 
@@ -1,12 +1,26 @@
 package edu.yorku.sneaker_store_backend.controller;
 
+import edu.yorku.sneaker_store_backend.dto.SneakerPageDto;
 import edu.yorku.sneaker_store_backend.model.Sneaker;
+import edu.yorku.sneaker_store_backend.service.CatalogExportService;
 import edu.yorku.sneaker_store_backend.service.SneakerService;
+import edu.yorku.sneaker_store_backend.service.catalog.CatalogResponseCache;
+import edu.yorku.sneaker_store_backend.service.catalog.CatalogResponseCache.CachedResponse;
+import edu.yorku.sneaker_store_backend.service.catalog.CatalogSnapshot;
 import edu.yorku.sneaker_store_backend.service.dto.SneakerQueryParams;
+import edu.yorku.sneaker_store_backend.service.export.ExportFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST controller that exposes API endpoints for sneaker catalog operations.
@@ -16,47 +30,183 @@ import java.util.List;
 public class SneakerController {
 
     private final SneakerService sneakerService;
+    private final CatalogResponseCache responseCache;
+    private final CatalogExportService catalogExportService;
 
-    public SneakerController(SneakerService sneakerService) {
+    public SneakerController(SneakerService sneakerService,
+                             CatalogResponseCache responseCache,
+                             CatalogExportService catalogExportService) {
         this.sneakerService = sneakerService;
+        this.responseCache = responseCache;
+        this.catalogExportService = catalogExportService;
     }
 
     /**
      * GET /api/sneakers
      * Retrieves a list of all sneakers.
+     * <p>
+     * Supplying <code>limit</code> (and the <code>after</code> cursor from a previous response)
+     * switches to keyset pagination and returns a {@link SneakerPageDto} instead of a bare list.
+     * <p>
+     * Responses carry an ETag (catalog version plus content coding) and Last-Modified; a matching
+     * <code>If-None-Match</code>/<code>If-Modified-Since</code> gets a 304 before any filtering runs.
+     * Bodies are served from {@link CatalogResponseCache}, gzip-encoded when the client accepts it.
+     * <p>
+     * <code>ids=1,2,3</code> turns the call into a multi-get: those sneakers are returned in the
+     * requested order and every other parameter is ignored.
      */
     @GetMapping
-    public List<Sneaker> list(
+    public ResponseEntity<?> list(
             @RequestParam(name = "q", required = false) String keyword,
             @RequestParam(name = "brand", required = false) String brand,
             @RequestParam(name = "colorway", required = false) String colorway,
             @RequestParam(name = "category", required = false) String category,
             @RequestParam(name = "genre", required = false) String genre,
+            @RequestParam(name = "size", required = false) String size,
+            @RequestParam(name = "minPrice", required = false) BigDecimal minPrice,
+            @RequestParam(name = "maxPrice", required = false) BigDecimal maxPrice,
+            @RequestParam(name = "inStockOnly", required = false) Boolean inStockOnly,
             @RequestParam(name = "sortBy", required = false) String sortBy,
-            @RequestParam(name = "direction", required = false) String direction
+            @RequestParam(name = "direction", required = false) String direction,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "ids", required = false) List<Long> ids,
+            ServletWebRequest webRequest
     ) {
+        CatalogSnapshot catalog = sneakerService.currentCatalog();
+        if (notModified(webRequest, catalog, ids == null)) {
+            return null;
+        }
+        if (ids != null) {
+            try {
+                return ResponseEntity.ok(sneakerService.findByIds(catalog, ids));
+            } catch (IllegalArgumentException ex) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", ex.getMessage()));
+            }
+        }
+
         SneakerQueryParams params = SneakerQueryParams.builder()
                 .keyword(keyword)
                 .brand(brand)
                 .colorway(colorway)
                 .category(category)
                 .genre(genre)
+                .size(size)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .inStockOnly(inStockOnly)
                 .sortBy(sortBy)
                 .sortDirection(direction)
+                .limit(limit)
+                .after(after)
+                .build();
+        try {
+            CachedResponse response = responseCache.get(catalog.version(), List.of("list", params.cacheKey()),
+                    () -> params.isPaged()
+                            ? sneakerService.findPage(catalog, params)
+                            : sneakerService.find(catalog, params));
+            return cachedJson(response, webRequest);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", ex.getMessage()));
+        }
+    }
+
+    /**
+     * GET /api/sneakers/facets
+     * <p>
+     * Accepts the same filters as the list endpoint and returns, per brand/colorway/category/genre
+     * value, how many sneakers match. Lets the storefront draw filter counts without downloading
+     * the catalog.
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<byte[]> facets(
+            @RequestParam(name = "q", required = false) String keyword,
+            @RequestParam(name = "brand", required = false) String brand,
+            @RequestParam(name = "colorway", required = false) String colorway,
+            @RequestParam(name = "category", required = false) String category,
+            @RequestParam(name = "genre", required = false) String genre,
+            @RequestParam(name = "size", required = false) String size,
+            @RequestParam(name = "minPrice", required = false) BigDecimal minPrice,
+            @RequestParam(name = "maxPrice", required = false) BigDecimal maxPrice,
+            @RequestParam(name = "inStockOnly", required = false) Boolean inStockOnly,
+            ServletWebRequest webRequest
+    ) {
+        CatalogSnapshot catalog = sneakerService.currentCatalog();
+        if (notModified(webRequest, catalog, true)) {
+            return null;
+        }
+        SneakerQueryParams params = SneakerQueryParams.builder()
+                .keyword(keyword)
+                .brand(brand)
+                .colorway(colorway)
+                .category(category)
+                .genre(genre)
+                .size(size)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .inStockOnly(inStockOnly)
                 .build();
-        return sneakerService.find(params);
+        CachedResponse response = responseCache.get(catalog.version(), List.of("facets", params.cacheKey()),
+                () -> sneakerService.facets(catalog, params));
+        return cachedJson(response, webRequest);
+    }
+
+    /**
+     * GET /api/sneakers/suggest
+     * <p>
+     * Typeahead completions for the search box: up to <code>limit</code> names, brands or colorways
+     * with a word starting with <code>prefix</code>, most common first.
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggest(
+            @RequestParam(name = "prefix", required = false) String prefix,
+            @RequestParam(name = "limit", required = false) Integer limit
+    ) {
+        try {
+            return ResponseEntity.ok(sneakerService.suggest(prefix, limit));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", ex.getMessage()));
+        }
+    }
+
+    /**
+     * GET /api/sneakers/export?format=ndjson|csv
+     * <p>
+     * Full catalog feed for partners, streamed straight from the database so memory use stays flat
+     * however large the catalog is.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<?> export(@RequestParam(name = "format", required = false) String format) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.parse(format);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", ex.getMessage()));
+        }
+        StreamingResponseBody body = out -> catalogExportService.exportSneakers(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("sneakers." + exportFormat.extension())
+                        .build()
+                        .toString())
+                .body(body);
     }
 
     /**
      * GET /api/sneakers/{id}
-     * Retrieves a sneaker by its ID.
+     * Retrieves a sneaker by its ID. Supports the same conditional requests as the list endpoint.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Sneaker> getById(@PathVariable Long id) {
-        Sneaker sneaker = sneakerService.findById(id);
+    public ResponseEntity<Sneaker> getById(@PathVariable Long id, ServletWebRequest webRequest) {
+        CatalogSnapshot catalog = sneakerService.currentCatalog();
+        Sneaker sneaker = sneakerService.findById(catalog, id);
         if (sneaker == null) {
             return ResponseEntity.notFound().build();
         }
+        if (notModified(webRequest, catalog, false)) {
+            return null;
+        }
         return ResponseEntity.ok(sneaker);
     }
 
@@ -81,11 +231,16 @@ public class SneakerController {
 
     /**
      * PUT /api/sneakers/{id}
-     * Updates an existing sneaker.
+     * Updates an existing sneaker. Changing a field a linked product owns returns 409.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Sneaker> update(@PathVariable Long id, @RequestBody Sneaker sneaker) {
-        Sneaker updated = sneakerService.update(id, sneaker);
+    public ResponseEntity<?> update(@PathVariable Long id, @RequestBody Sneaker sneaker) {
+        Sneaker updated;
+        try {
+            updated = sneakerService.update(id, sneaker);
+        } catch (IllegalStateException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", ex.getMessage()));
+        }
         if (updated == null) {
             return ResponseEntity.notFound().build();
         }
@@ -94,14 +249,56 @@ public class SneakerController {
 
     /**
      * DELETE /api/sneakers/{id}
-     * Deletes a sneaker by ID.
+     * Deletes a sneaker by ID. A sneaker linked to a product returns 409; delete the product instead.
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@PathVariable Long id) {
-        boolean deleted = sneakerService.delete(id);
+    public ResponseEntity<?> delete(@PathVariable Long id) {
+        boolean deleted;
+        try {
+            deleted = sneakerService.delete(id);
+        } catch (IllegalStateException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", ex.getMessage()));
+        }
         if (!deleted) {
             return ResponseEntity.notFound().build();
         }
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Sets the catalog ETag/Last-Modified headers and reports whether the client's copy is current.
+     * When the body is chosen by {@code Accept-Encoding} ({@code negotiated}), the ETag names the
+     * coding the client accepts (e.g. {@code "<version>-gzip"}) so a cache never answers one
+     * coding's revalidation with the other's bytes, and {@code Vary} is set on the 304 as well as
+     * the 200. Bodies too small to compress go out uncompressed under the gzip tag, which is still
+     * exactly one body per tag.
+     */
+    private boolean notModified(ServletWebRequest webRequest, CatalogSnapshot catalog, boolean negotiated) {
+        String etag = "\"" + catalog.version() + "\"";
+        if (negotiated) {
+            webRequest.getResponse().setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (acceptsGzip(webRequest)) {
+                etag = "\"" + catalog.version() + "-gzip\"";
+            }
+        }
+        return webRequest.checkNotModified(etag, catalog.lastModified().toEpochMilli());
+    }
+
+    /**
+     * Writes pre-serialized JSON as-is, picking the gzip variant when the client accepts it.
+     */
+    private ResponseEntity<byte[]> cachedJson(CachedResponse response, ServletWebRequest webRequest) {
+        boolean gzip = response.gzip() != null && acceptsGzip(webRequest);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(response.gzip());
+        }
+        return builder.body(response.json());
+    }
+
+    private static boolean acceptsGzip(ServletWebRequest webRequest) {
+        String acceptEncoding = webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.contains("gzip");
+    }
 }
@@ -2,12 +2,19 @@ package edu.yorku.sneaker_store_backend.controller.admin;
 
 import edu.yorku.sneaker_store_backend.dto.InventoryHistoryResponseDto;
 import edu.yorku.sneaker_store_backend.model.Product;
+import edu.yorku.sneaker_store_backend.service.CatalogExportService;
 import edu.yorku.sneaker_store_backend.service.InventoryHistoryService;
 import edu.yorku.sneaker_store_backend.service.ProductAdminService;
+import edu.yorku.sneaker_store_backend.service.ProductImportService;
+import edu.yorku.sneaker_store_backend.service.export.ExportFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -19,20 +26,77 @@ public class AdminProductController {
 
     private final ProductAdminService productAdminService;
     private final InventoryHistoryService inventoryHistoryService;
+    private final CatalogExportService catalogExportService;
+    private final ProductImportService productImportService;
 
     public AdminProductController(ProductAdminService productAdminService,
-                                  InventoryHistoryService inventoryHistoryService) {
+                                  InventoryHistoryService inventoryHistoryService,
+                                  CatalogExportService catalogExportService,
+                                  ProductImportService productImportService) {
         this.productAdminService = productAdminService;
         this.inventoryHistoryService = inventoryHistoryService;
+        this.catalogExportService = catalogExportService;
+        this.productImportService = productImportService;
     }
 
     /**
      * GET /api/admin/products
      * Use when populating admin tables – returns every product with inventory levels.
+     * With <code>ids=1,2,3</code> only those products are returned, in the requested order.
      */
     @GetMapping
-    public List<Product> listAll() {
-        return productAdminService.listAll();
+    public ResponseEntity<?> listAll(@RequestParam(name = "ids", required = false) List<Long> ids) {
+        if (ids == null) {
+            return ResponseEntity.ok(productAdminService.listAll());
+        }
+        try {
+            return ResponseEntity.ok(productAdminService.findByIds(ids));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error(ex.getMessage()));
+        }
+    }
+
+    /**
+     * GET /api/admin/products/export?format=ndjson|csv
+     * Streams every product row as it is read, without loading the table into memory.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<?> export(@RequestParam(name = "format", required = false) String format) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.parse(format);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error(ex.getMessage()));
+        }
+        StreamingResponseBody body = out -> catalogExportService.exportProducts(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("products." + exportFormat.extension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    /**
+     * POST /api/admin/products/import?format=csv|ndjson
+     * <p>
+     * Bulk upsert by SKU. The body is a CSV file with a header row (sku,name,brand,description,price,
+     * stockQuantity,imageUrl) or one JSON product per line; without <code>format</code> the
+     * Content-Type decides. Returns a per-row report; invalid rows are skipped, not fatal.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<?> importProducts(@RequestParam(name = "format", required = false) String format,
+                                            @RequestHeader(name = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+                                            InputStream body) {
+        try {
+            ExportFormat importFormat = format == null && contentType != null && contentType.contains("csv")
+                    ? ExportFormat.CSV
+                    : ExportFormat.parse(format);
+            return ResponseEntity.ok(productImportService.importProducts(importFormat, body));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error(ex.getMessage()));
+        }
     }
 
     /**
@@ -0,0 +1,24 @@
+package edu.yorku.sneaker_store_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk product import: totals plus one entry per input row.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReportDto {
+
+    private int total;
+    private int upserted;
+    private int rejected;
+    private int skipped;
+    private List<ImportRowResultDto> rows;
+}
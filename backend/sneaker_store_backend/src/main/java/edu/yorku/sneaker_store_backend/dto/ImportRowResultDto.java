@@ -0,0 +1,29 @@
+package edu.yorku.sneaker_store_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result for a single row of a bulk import.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowResultDto {
+
+    /**
+     * 1-based line of the row in the uploaded file (CSV rows count the header as line 1).
+     */
+    private int line;
+    private String sku;
+
+    /**
+     * {@code UPSERTED}, {@code REJECTED} (validation failed) or {@code SKIPPED} (same SKU appears
+     * again later in the file, which wins).
+     */
+    private String status;
+    private String message;
+}
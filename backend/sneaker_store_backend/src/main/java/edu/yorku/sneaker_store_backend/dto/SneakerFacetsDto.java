@@ -0,0 +1,30 @@
+package edu.yorku.sneaker_store_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Filter counts for the storefront sidebar. Each map goes from a facet value (as displayed) to
+ * the number of sneakers that would match if it were selected alongside the current filters.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SneakerFacetsDto {
+
+    /** Sneakers matching the full current selection. */
+    private int total;
+
+    private Map<String, Integer> brands;
+
+    private Map<String, Integer> colorways;
+
+    private Map<String, Integer> categories;
+
+    private Map<String, Integer> genres;
+}
@@ -0,0 +1,26 @@
+package edu.yorku.sneaker_store_backend.dto;
+
+import edu.yorku.sneaker_store_backend.model.Sneaker;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of the sneaker catalog plus the cursor needed to request the next page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SneakerPageDto {
+
+    private List<Sneaker> items;
+
+    /**
+     * Pass back as the {@code after} query parameter; {@code null} once the last page is reached.
+     */
+    private String nextCursor;
+}
@@ -82,6 +82,7 @@ public class Order {
     private List<OrderItem> items = new ArrayList<>();
 
     public enum OrderStatus {
+        AWAITING_PAYMENT,
         PENDING,
         PAID,
         SHIPPED,
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -29,6 +30,14 @@ public class Sneaker {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    /**
+     * The admin {@link Product} this catalog entry mirrors, or {@code null} for storefront-only entries.
+     * The link and the mirrored columns (name, brand, price, stock, description, image) are
+     * maintained by a database trigger on {@code products}, so the application never writes them here.
+     */
+    @Column(name = "product_id", insertable = false, updatable = false)
+    private Long productId;
+
     /**
      * Name of the sneaker, e.g., "Air Jordan 1".
      * Cannot be null.
@@ -63,9 +72,11 @@ public class Sneaker {
     private String genre;
 
     /**
-     * Available shoe sizes for this sneaker (e.g., "8", "9.5").
+     * Available shoe sizes for this sneaker (e.g., "8", "9.5"). Loaded lazily in batches; catalog
+     * reloads fetch them together with the sneakers via {@code SneakerRepository#findAllWithSizes()}.
      */
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection(fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     @CollectionTable(name = "sneaker_sizes", joinColumns = @JoinColumn(name = "sneaker_id"))
     @Column(name = "size", length = 10)
     @Builder.Default
@@ -2,7 +2,11 @@ package edu.yorku.sneaker_store_backend.repository;
 
 import edu.yorku.sneaker_store_backend.model.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -14,4 +18,28 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      * Looks up a product by its SKU.
      */
     Optional<Product> findBySku(String sku);
+
+    /**
+     * Looks up several products by SKU in one query.
+     */
+    List<Product> findBySkuIn(Collection<String> skus);
+
+    /**
+     * Locks the given product rows in ascending id order and returns their current stock. Must run
+     * inside a transaction; the locks are held until it ends. {@code FOR NO KEY UPDATE} still lets
+     * other transactions insert order and cart lines referencing these products.
+     */
+    @Query(value = "SELECT id AS \"id\", stock_quantity AS \"stockQuantity\" FROM products "
+            + "WHERE id IN (:ids) ORDER BY id FOR NO KEY UPDATE",
+            nativeQuery = true)
+    List<StockLevel> lockStockLevels(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Stock of one product as read by {@link #lockStockLevels}.
+     */
+    interface StockLevel {
+        Long getId();
+
+        Integer getStockQuantity();
+    }
 }
@@ -1,9 +1,13 @@
 package edu.yorku.sneaker_store_backend.repository;
 
 import edu.yorku.sneaker_store_backend.model.Sneaker;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,5 +27,30 @@ public interface SneakerRepository extends JpaRepository<Sneaker, Long>, JpaSpec
      */
     List<Sneaker> findByNameContainingIgnoreCase(String keyword);
 
-    Optional<Sneaker> findFirstByNameIgnoreCase(String name);
+    /**
+     * The storefront sneaker mirroring a product, with its sizes.
+     */
+    @EntityGraph(attributePaths = "availableSizes")
+    Optional<Sneaker> findByProductId(Long productId);
+
+    /**
+     * Loads every sneaker together with its sizes in a single joined query.
+     */
+    @EntityGraph(attributePaths = "availableSizes")
+    @Query("select distinct s from Sneaker s")
+    List<Sneaker> findAllWithSizes();
+
+    /**
+     * Loads the given sneakers with their sizes in a single joined query.
+     */
+    @EntityGraph(attributePaths = "availableSizes")
+    @Query("select distinct s from Sneaker s where s.id in (:ids)")
+    List<Sneaker> findAllWithSizesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Loads the sneakers mirroring the given products with their sizes in a single joined query.
+     */
+    @EntityGraph(attributePaths = "availableSizes")
+    @Query("select distinct s from Sneaker s where s.productId in (:productIds)")
+    List<Sneaker> findAllWithSizesByProductIdIn(@Param("productIds") Collection<Long> productIds);
 }
@@ -0,0 +1,65 @@
+package edu.yorku.sneaker_store_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.yorku.sneaker_store_backend.service.export.ExportFormat;
+import edu.yorku.sneaker_store_backend.service.export.ResultSetStreamWriter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.OutputStream;
+
+/**
+ * Streams the sneaker catalog and the product table to feed partners.
+ * <p>
+ * Rows are read through a forward-only cursor with a bounded fetch size and written to the response
+ * as they arrive. The PostgreSQL driver only honours the fetch size when auto-commit is off, hence the
+ * read-only transaction around each export.
+ */
+@Service
+public class CatalogExportService {
+
+    private static final int FETCH_SIZE = 500;
+
+    private static final String SNEAKERS_SQL = """
+            SELECT s.id, s.product_id AS "productId", s.name, s.brand, s.colorway, s.price, s.stock,
+                   s.category, s.genre,
+                   ARRAY(SELECT z.size FROM sneaker_sizes z WHERE z.sneaker_id = s.id ORDER BY z.size) AS "availableSizes",
+                   s.description, s.image_url AS "imageUrl"
+            FROM sneakers s
+            ORDER BY s.id
+            """;
+
+    private static final String PRODUCTS_SQL = """
+            SELECT p.id, p.sku, p.name, p.brand, p.description, p.price,
+                   p.stock_quantity AS "stockQuantity", p.image_url AS "imageUrl"
+            FROM products p
+            ORDER BY p.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public CatalogExportService(DataSource dataSource, ObjectMapper objectMapper) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes every sneaker to {@code out}; returns the number of rows written.
+     */
+    @Transactional(readOnly = true)
+    public long exportSneakers(ExportFormat format, OutputStream out) {
+        return jdbcTemplate.query(SNEAKERS_SQL, new ResultSetStreamWriter(format, out, objectMapper.getFactory()));
+    }
+
+    /**
+     * Writes every product to {@code out}; returns the number of rows written.
+     */
+    @Transactional(readOnly = true)
+    public long exportProducts(ExportFormat format, OutputStream out) {
+        return jdbcTemplate.query(PRODUCTS_SQL, new ResultSetStreamWriter(format, out, objectMapper.getFactory()));
+    }
+}
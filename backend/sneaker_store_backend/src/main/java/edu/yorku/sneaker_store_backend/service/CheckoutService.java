@@ -10,15 +10,53 @@ import edu.yorku.sneaker_store_backend.model.Product;
 import edu.yorku.sneaker_store_backend.repository.CustomerRepository;
 import edu.yorku.sneaker_store_backend.repository.OrderRepository;
 import edu.yorku.sneaker_store_backend.repository.ProductRepository;
-import edu.yorku.sneaker_store_backend.repository.SneakerRepository;
+import edu.yorku.sneaker_store_backend.repository.ProductRepository.StockLevel;
+import edu.yorku.sneaker_store_backend.service.admission.CheckoutAdmission;
+import edu.yorku.sneaker_store_backend.service.admission.AdmissionRejectedException;
+import edu.yorku.sneaker_store_backend.service.catalog.CatalogReadModel;
+import edu.yorku.sneaker_store_backend.service.checkout.CheckoutMetrics;
+import edu.yorku.sneaker_store_backend.service.checkout.CheckoutMetrics.Outcome;
+import edu.yorku.sneaker_store_backend.service.checkout.CheckoutMetrics.Phase;
+import edu.yorku.sneaker_store_backend.service.checkout.CheckoutMetrics.Timing;
+import edu.yorku.sneaker_store_backend.service.checkout.GroupCommitter;
+import edu.yorku.sneaker_store_backend.service.checkout.GroupCommitter.Result;
+import edu.yorku.sneaker_store_backend.service.order.OrderNumberGenerator;
+import edu.yorku.sneaker_store_backend.service.outbox.CartClearHandler;
+import edu.yorku.sneaker_store_backend.service.outbox.InventorySaleHandler;
+import edu.yorku.sneaker_store_backend.service.outbox.OutboxDispatcher;
+import edu.yorku.sneaker_store_backend.service.outbox.OutboxEventType;
+import edu.yorku.sneaker_store_backend.service.outbox.OutboxMessage;
+import edu.yorku.sneaker_store_backend.service.outbox.OutboxService;
+import edu.yorku.sneaker_store_backend.service.payment.PaymentAuthorization;
+import edu.yorku.sneaker_store_backend.service.payment.PaymentGateway;
+import edu.yorku.sneaker_store_backend.service.payment.PaymentRequest;
+import edu.yorku.sneaker_store_backend.service.payment.PaymentUnavailableException;
+import edu.yorku.sneaker_store_backend.service.reservation.HotSkuReservationEngine;
+import edu.yorku.sneaker_store_backend.service.reservation.ReservationToken;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -27,25 +65,127 @@ import java.util.stream.Collectors;
 @Service
 public class CheckoutService {
 
+    /** Guarded by the row locks taken in {@link #takeStock}; the condition is a last line of defence. */
+    private static final String DECREMENT_STOCK_SQL =
+            "UPDATE products SET stock_quantity = stock_quantity - ? WHERE id = ? AND stock_quantity >= ?";
+
+    private static final String TRANSITION_ORDER_SQL = "UPDATE orders SET status = ? WHERE id = ? AND status = ?";
+
+    private static final String ORDER_STATUS_SQL = "SELECT status FROM orders WHERE id = ?";
+
+    private static final String SAVE_PAYMENT_DETAILS_SQL = """
+            UPDATE customers
+            SET credit_card_holder = COALESCE(?, credit_card_holder),
+                credit_card_number = COALESCE(?, credit_card_number),
+                credit_card_expiry = COALESCE(?, credit_card_expiry),
+                credit_card_cvv    = COALESCE(?, credit_card_cvv)
+            WHERE id = ?
+            """;
+
+    private static final String ORDER_QUANTITIES_SQL = """
+            SELECT product_id, SUM(quantity) AS quantity
+            FROM order_items
+            WHERE order_id = ?
+            GROUP BY product_id
+            ORDER BY product_id
+            """;
+
+    private static final String RESTOCK_SQL =
+            "UPDATE products SET stock_quantity = stock_quantity + ? WHERE id = ?";
+
+    private static final String ALLOCATE_ORDER_IDS_SQL =
+            "SELECT nextval(pg_get_serial_sequence('orders', 'id')) FROM generate_series(1, ?)";
+
+    private static final String INSERT_ORDER_SQL = """
+            INSERT INTO orders (id, order_number, customer_id, order_date, status, total_amount,
+                                shipping_address, billing_address)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_ORDER_ITEM_SQL = """
+            INSERT INTO order_items (order_id, product_id, quantity, size, unit_price, line_total)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String ABANDONED_ORDERS_SQL = """
+            SELECT id FROM orders
+            WHERE status = ? AND order_date < ?
+            ORDER BY order_date
+            LIMIT 100
+            """;
+
     private final ProductRepository productRepository;
     private final CustomerRepository customerRepository;
     private final OrderRepository orderRepository;
-    private final InventoryHistoryService inventoryHistoryService;
-    private final CartService cartService;
-    private final SneakerRepository sneakerRepository;
+    private final CatalogReadModel catalogReadModel;
+    private final HotSkuReservationEngine reservationEngine;
+    private final JdbcTemplate jdbcTemplate;
+    private final OutboxService outboxService;
+    private final OrderNumberGenerator orderNumberGenerator;
+    private final PaymentGateway paymentGateway;
+    private final CheckoutAdmission checkoutAdmission;
+    private final CheckoutMetrics checkoutMetrics;
+    private final TransactionTemplate reserveTransaction;
+    private final TransactionTemplate confirmTransaction;
+    private final TransactionTemplate compensateTransaction;
+    private final TransactionTemplate groupTransaction;
+    private final GroupCommitter<GroupedReservation, PendingCheckout> reservationGroups;
+    private final GroupCommitter<GroupedConfirmation, CheckoutResponseDto> confirmationGroups;
+    private final Duration paymentTimeout;
+    private final Duration abandonAfter;
 
     public CheckoutService(ProductRepository productRepository,
                            CustomerRepository customerRepository,
                            OrderRepository orderRepository,
-                           InventoryHistoryService inventoryHistoryService,
-                           CartService cartService,
-                           SneakerRepository sneakerRepository) {
+                           CatalogReadModel catalogReadModel,
+                           HotSkuReservationEngine reservationEngine,
+                           JdbcTemplate jdbcTemplate,
+                           OutboxService outboxService,
+                           OrderNumberGenerator orderNumberGenerator,
+                           PaymentGateway paymentGateway,
+                           CheckoutAdmission checkoutAdmission,
+                           CheckoutMetrics checkoutMetrics,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.payment.timeout:PT10S}") Duration paymentTimeout,
+                           @Value("${app.payment.abandon-after:PT5M}") Duration abandonAfter,
+                           @Value("${app.checkout.group-commit.enabled:false}") boolean groupCommit,
+                           @Value("${app.checkout.group-commit.window:PT0.002S}") Duration groupWindow,
+                           @Value("${app.checkout.group-commit.max-batch:64}") int groupMaxBatch) {
         this.productRepository = productRepository;
         this.customerRepository = customerRepository;
         this.orderRepository = orderRepository;
-        this.inventoryHistoryService = inventoryHistoryService;
-        this.cartService = cartService;
-        this.sneakerRepository = sneakerRepository;
+        this.catalogReadModel = catalogReadModel;
+        this.reservationEngine = reservationEngine;
+        this.jdbcTemplate = jdbcTemplate;
+        this.outboxService = outboxService;
+        this.orderNumberGenerator = orderNumberGenerator;
+        this.paymentGateway = paymentGateway;
+        this.checkoutAdmission = checkoutAdmission;
+        this.checkoutMetrics = checkoutMetrics;
+        this.reserveTransaction = new TransactionTemplate(transactionManager);
+        this.reserveTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.confirmTransaction = new TransactionTemplate(transactionManager);
+        this.confirmTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.compensateTransaction = new TransactionTemplate(transactionManager);
+        this.compensateTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.paymentTimeout = paymentTimeout;
+        this.abandonAfter = abandonAfter;
+        this.groupTransaction = new TransactionTemplate(transactionManager);
+        this.groupTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.reservationGroups = groupCommit
+                ? new GroupCommitter<>("checkout-reserve-group", groupMaxBatch, groupWindow, this::reserveGroup)
+                : null;
+        this.confirmationGroups = groupCommit
+                ? new GroupCommitter<>("checkout-confirm-group", groupMaxBatch, groupWindow, this::confirmGroup)
+                : null;
+    }
+
+    @PreDestroy
+    public void closeGroups() {
+        if (reservationGroups != null) {
+            reservationGroups.close();
+            confirmationGroups.close();
+        }
     }
 
     /**
@@ -62,11 +202,163 @@ public class CheckoutService {
      * </ol>
      * Any validation or stock related issues raise {@link IllegalArgumentException} or
      * {@link IllegalStateException} so controllers can translate them into HTTP 400 responses.
+     * <p>
+     * The work runs in three steps so that no transaction is open while the payment provider is
+     * called:
+     * <ol>
+     *   <li><b>Reserve</b> – in its own transaction, on the order's {@link CheckoutAdmission}
+     *       partition: take the stock and save the order as {@code AWAITING_PAYMENT}. Row locks are
+     *       released when it commits.</li>
+     *   <li><b>Authorize</b> – ask the {@link PaymentGateway}, waiting at most
+     *       {@code app.payment.timeout}.</li>
+     *   <li><b>Confirm or compensate</b> – mark the order {@code PAID} and enqueue its side effects,
+     *       or cancel it and return the stock, each in a transaction of its own.</li>
+     * </ol>
+     * If confirming fails, including when its commit fails, the order is cancelled and the
+     * authorization voided. An order that turns out to be {@code PAID} after all (the commit landed
+     * but its outcome was lost) is returned as confirmed instead.
+     * A provider error or timeout raises {@link PaymentUnavailableException}; the order has been
+     * cancelled and the checkout may be retried. Orders stranded in {@code AWAITING_PAYMENT} by a
+     * crash are cancelled by {@link #cancelAbandonedCheckouts()}.
+     * <p>
+     * With {@code app.checkout.group-commit.enabled}, reservations and confirmations that arrive
+     * within {@code app.checkout.group-commit.window} of each other share one transaction and one
+     * commit; see {@link #reserveGroup} and {@link #confirmGroup}.
+     * <p>
+     * Each step is timed by {@link CheckoutMetrics}, tagged with the item count and the outcome.
      */
-    @Transactional
     public CheckoutResponseDto checkout(CheckoutRequestDto request) {
-        Customer customer = customerRepository.findById(request.getCustomerId())
-                .orElseThrow(() -> new IllegalArgumentException("Customer not found"));
+        Timing timing = checkoutMetrics.start(request);
+        try {
+            CheckoutResponseDto response = placeOrder(request, timing);
+            timing.outcome(Outcome.SUCCESS);
+            return response;
+        } catch (AdmissionRejectedException ex) {
+            timing.outcome(Outcome.THROTTLED);
+            throw ex;
+        } catch (PaymentUnavailableException ex) {
+            timing.outcome(Outcome.PAYMENT_UNAVAILABLE);
+            throw ex;
+        } catch (IllegalArgumentException ex) {
+            timing.outcome(Outcome.INVALID);
+            throw ex;
+        } catch (IllegalStateException ex) {
+            timing.outcome(Outcome.REJECTED);
+            throw ex;
+        } finally {
+            checkoutMetrics.record(timing);
+        }
+    }
+
+    private CheckoutResponseDto placeOrder(CheckoutRequestDto request, Timing timing) {
+        long queuedAt = System.nanoTime();
+        PendingCheckout pending = checkoutAdmission.submit(request, () -> {
+            timing.add(Phase.ADMISSION, System.nanoTime() - queuedAt);
+            return timing.time(Phase.RESERVE, () -> reservationGroups != null
+                    ? reservationGroups.submit(new GroupedReservation(request, timing))
+                    : reserveTransaction.execute(status -> reserve(request, timing)));
+        });
+
+        PaymentAuthorization authorization;
+        try {
+            authorization = timing.time(Phase.AUTHORIZE, () -> authorize(pending, request));
+        } catch (RuntimeException ex) {
+            timing.run(Phase.COMPENSATE, () -> compensate(pending.orderId()));
+            throw ex;
+        }
+        if (!authorization.approved()) {
+            timing.outcome(Outcome.DECLINED);
+            timing.run(Phase.COMPENSATE, () -> compensate(pending.orderId()));
+            throw new IllegalStateException(authorization.message());
+        }
+
+        try {
+            return timing.time(Phase.CONFIRM, () -> confirmationGroups != null
+                    ? confirmationGroups.submit(new GroupedConfirmation(pending, request, authorization))
+                    : confirmTransaction.execute(status -> confirm(pending, request, authorization)));
+        } catch (RuntimeException ex) {
+            timing.run(Phase.COMPENSATE, () -> compensate(pending.orderId()));
+            if (isPaid(pending.orderId())) {
+                return confirmedResponse(pending, authorization);
+            }
+            paymentGateway.voidAuthorization(authorization.authorizationId());
+            throw ex;
+        }
+    }
+
+    /**
+     * Cancels orders left in {@code AWAITING_PAYMENT} for longer than {@code app.payment.abandon-after}
+     * (the instance handling them died between reserving and confirming) and returns their stock.
+     */
+    @Scheduled(fixedDelayString = "${app.payment.sweep-interval-ms:60000}")
+    public void cancelAbandonedCheckouts() {
+        List<Long> abandoned = jdbcTemplate.queryForList(ABANDONED_ORDERS_SQL, Long.class,
+                Order.OrderStatus.AWAITING_PAYMENT.name(), LocalDateTime.now().minus(abandonAfter));
+        abandoned.forEach(this::compensate);
+    }
+
+    /**
+     * Step 1: validates the request, takes the stock and saves the order awaiting payment.
+     */
+    private PendingCheckout reserve(CheckoutRequestDto request, Timing timing) {
+        PreparedOrder prepared = prepare(request, timing);
+        return timing.time(Phase.SAVE, () -> {
+            orderRepository.save(prepared.order());
+            reservationEngine.confirm(prepared.reservations(), prepared.order().getId());
+            return pendingOf(prepared);
+        });
+    }
+
+    /**
+     * Group commit variant of step 1: reserves a whole group in one transaction.
+     * <p>
+     * Each request runs between a savepoint and its release, so one that fails (bad input, not
+     * enough stock) is rolled back to its savepoint and reported to its caller alone. The orders that
+     * got their stock are then written together: ids come from one sequence query and orders and
+     * order items go in as two JDBC batches. If the group transaction itself fails, e.g. on a
+     * deadlock, every request is retried in a transaction of its own.
+     */
+    private List<Result<PendingCheckout>> reserveGroup(List<GroupedReservation> group) {
+        checkoutMetrics.recordGroup(Phase.RESERVE, group.size());
+        try {
+            return groupTransaction.execute(status -> {
+                List<Result<PreparedOrder>> prepared = new ArrayList<>(group.size());
+                for (GroupedReservation reservation : group) {
+                    jdbcTemplate.execute("SAVEPOINT checkout");
+                    try {
+                        prepared.add(Result.of(prepare(reservation.request(), reservation.timing())));
+                        jdbcTemplate.execute("RELEASE SAVEPOINT checkout");
+                    } catch (RuntimeException ex) {
+                        jdbcTemplate.execute("ROLLBACK TO SAVEPOINT checkout");
+                        prepared.add(Result.failed(ex));
+                    }
+                }
+
+                long startedAt = System.nanoTime();
+                List<Result<PendingCheckout>> results = saveAll(prepared);
+                long saveNanos = System.nanoTime() - startedAt;
+                for (int i = 0; i < group.size(); i++) {
+                    if (results.get(i).error() == null) {
+                        group.get(i).timing().add(Phase.SAVE, saveNanos);
+                    }
+                }
+                return results;
+            });
+        } catch (RuntimeException ex) {
+            return group.stream()
+                    .map(reservation -> Result.attempt(() -> reserveTransaction.execute(
+                            status -> reserve(reservation.request(), reservation.timing()))))
+                    .toList();
+        }
+    }
+
+    /**
+     * Validates the request, takes the stock and builds the order without saving it. Taking the stock
+     * is the last thing that can fail, so nothing after it needs undoing.
+     */
+    private PreparedOrder prepare(CheckoutRequestDto request, Timing timing) {
+        Customer customer = timing.time(Phase.RESOLVE, () -> customerRepository.findById(request.getCustomerId())
+                .orElseThrow(() -> new IllegalArgumentException("Customer not found")));
 
         if (request.getItems() == null || request.getItems().isEmpty()) {
             throw new IllegalArgumentException("Checkout request must include items");
@@ -80,7 +372,7 @@ public class CheckoutService {
                 .orderNumber(generateOrderNumber())
                 .customer(customer)
                 .orderDate(LocalDateTime.now())
-                .status(Order.OrderStatus.PENDING)
+                .status(Order.OrderStatus.AWAITING_PAYMENT)
                 .shippingAddress(resolveShippingAddress(request, customer))
                 .billingAddress(resolveBillingAddress(request, customer))
                 .totalAmount(BigDecimal.ZERO)
@@ -90,63 +382,317 @@ public class CheckoutService {
             order.setItems(new ArrayList<>());
         }
 
-        BigDecimal total = BigDecimal.ZERO;
-        List<Product> updatedProducts = new ArrayList<>();
         List<SaleAdjustment> saleAdjustments = new ArrayList<>();
+        List<ReservationToken> reservations = new ArrayList<>();
+
+        List<Product> products = timing.time(Phase.RESOLVE, () -> resolveProducts(request.getItems()));
+        Map<Long, Integer> quantities = new TreeMap<>();
+        Map<Long, Product> productsById = new HashMap<>();
+        for (int i = 0; i < products.size(); i++) {
+            Product product = products.get(i);
+            quantities.merge(product.getId(), resolveQuantity(request.getItems().get(i)), Integer::sum);
+            productsById.put(product.getId(), product);
+        }
+        timing.run(Phase.STOCK, () -> takeStock(quantities, productsById, saleAdjustments, reservations));
 
-        for (CheckoutItemDto itemDto : request.getItems()) {
-            OrderItem orderItem = buildOrderItem(order, itemDto, saleAdjustments);
-            updatedProducts.add(orderItem.getProduct());
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < products.size(); i++) {
+            OrderItem orderItem = buildOrderItem(order, request.getItems().get(i), products.get(i));
             total = total.add(orderItem.getLineTotal());
             order.getItems().add(orderItem);
         }
 
         order.setTotalAmount(total);
-        productRepository.saveAll(updatedProducts);
-        Order savedOrder = orderRepository.save(order);
+        return new PreparedOrder(order, reservations, saleAdjustments);
+    }
 
-        String paymentMessage = simulatePayment(request);
+    /**
+     * Inserts the orders that were prepared successfully, and their items, with one batch each, and
+     * confirms their hot SKU reservations. Returns one result per entry of {@code prepared}.
+     */
+    private List<Result<PendingCheckout>> saveAll(List<Result<PreparedOrder>> prepared) {
+        List<Order> orders = prepared.stream()
+                .filter(result -> result.error() == null)
+                .map(result -> result.value().order())
+                .toList();
+        if (!orders.isEmpty()) {
+            List<Long> ids = jdbcTemplate.queryForList(ALLOCATE_ORDER_IDS_SQL, Long.class, orders.size());
+            for (int i = 0; i < orders.size(); i++) {
+                orders.get(i).setId(ids.get(i));
+            }
+            jdbcTemplate.batchUpdate(INSERT_ORDER_SQL, orders, orders.size(), (ps, order) -> {
+                ps.setLong(1, order.getId());
+                ps.setString(2, order.getOrderNumber());
+                ps.setLong(3, order.getCustomer().getId());
+                ps.setObject(4, order.getOrderDate());
+                ps.setString(5, order.getStatus().name());
+                ps.setBigDecimal(6, order.getTotalAmount());
+                ps.setString(7, order.getShippingAddress());
+                ps.setString(8, order.getBillingAddress());
+            });
+            List<OrderItem> items = orders.stream().flatMap(order -> order.getItems().stream()).toList();
+            jdbcTemplate.batchUpdate(INSERT_ORDER_ITEM_SQL, items, items.size(), (ps, item) -> {
+                ps.setLong(1, item.getOrder().getId());
+                ps.setLong(2, item.getProduct().getId());
+                ps.setInt(3, item.getQuantity());
+                ps.setString(4, item.getSize());
+                ps.setBigDecimal(5, item.getUnitPrice());
+                ps.setBigDecimal(6, item.getLineTotal());
+            });
+        }
+
+        List<Result<PendingCheckout>> results = new ArrayList<>(prepared.size());
+        for (Result<PreparedOrder> result : prepared) {
+            if (result.error() != null) {
+                results.add(Result.failed(result.error()));
+                continue;
+            }
+            PreparedOrder order = result.value();
+            reservationEngine.confirm(order.reservations(), order.order().getId());
+            results.add(Result.of(pendingOf(order)));
+        }
+        return results;
+    }
 
-        saleAdjustments.forEach(adj ->
-                inventoryHistoryService.recordSale(
-                        adj.product(),
-                        adj.previousStock(),
-                        adj.newStock(),
-                        adj.quantity(),
-                        savedOrder.getId()
-                ));
+    private PendingCheckout pendingOf(PreparedOrder prepared) {
+        Order order = prepared.order();
+        return new PendingCheckout(order.getId(), order.getOrderNumber(), order.getOrderDate(),
+                order.getCustomer().getId(), order.getTotalAmount(), mapToDto(order.getItems()),
+                prepared.saleAdjustments());
+    }
 
-        cartService.clearCart(customer.getId());
-        persistPaymentDetails(customer, request);
+    /**
+     * Step 2: runs outside any transaction; the calling thread waits on the gateway's future.
+     */
+    private PaymentAuthorization authorize(PendingCheckout pending, CheckoutRequestDto request) {
+        PaymentRequest paymentRequest = new PaymentRequest(pending.orderNumber(), pending.totalAmount(),
+                request.getPaymentMethod(), request.getPaymentToken());
+        try {
+            return paymentGateway.authorize(paymentRequest).get(paymentTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            throw new PaymentUnavailableException("Payment provider did not respond, please retry", ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new PaymentUnavailableException("Payment was interrupted, please retry", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof PaymentUnavailableException unavailable) {
+                throw unavailable;
+            }
+            throw new PaymentUnavailableException("Payment provider error, please retry", ex.getCause());
+        }
+    }
 
+    /**
+     * Step 3a: marks the order paid, saves the card details if asked to and enqueues its side effects.
+     * Fails (retryably) if the order is no longer awaiting payment, i.e. the sweep has already
+     * cancelled it.
+     */
+    private CheckoutResponseDto confirm(PendingCheckout pending,
+                                        CheckoutRequestDto request,
+                                        PaymentAuthorization authorization) {
+        int updated = jdbcTemplate.update(TRANSITION_ORDER_SQL, Order.OrderStatus.PAID.name(), pending.orderId(),
+                Order.OrderStatus.AWAITING_PAYMENT.name());
+        if (updated != 1) {
+            throw checkoutExpired();
+        }
+
+        savePaymentDetails(List.of(new GroupedConfirmation(pending, request, authorization)));
+        outboxService.enqueueAll(sideEffects(pending));
+        return confirmedResponse(pending, authorization);
+    }
+
+    /**
+     * Group commit variant of step 3a: marks the whole group paid with one batched update and
+     * enqueues all of its side effects with one outbox batch. An order that is no longer awaiting
+     * payment fails on its own; if the group transaction fails, each confirmation is retried alone.
+     */
+    private List<Result<CheckoutResponseDto>> confirmGroup(List<GroupedConfirmation> group) {
+        checkoutMetrics.recordGroup(Phase.CONFIRM, group.size());
+        try {
+            return groupTransaction.execute(status -> {
+                int[][] updated = jdbcTemplate.batchUpdate(TRANSITION_ORDER_SQL, group, group.size(), (ps, confirmation) -> {
+                    ps.setString(1, Order.OrderStatus.PAID.name());
+                    ps.setLong(2, confirmation.pending().orderId());
+                    ps.setString(3, Order.OrderStatus.AWAITING_PAYMENT.name());
+                });
+                List<Result<CheckoutResponseDto>> results = new ArrayList<>(group.size());
+                List<GroupedConfirmation> confirmed = new ArrayList<>(group.size());
+                List<OutboxMessage> messages = new ArrayList<>();
+                for (int i = 0; i < group.size(); i++) {
+                    GroupedConfirmation confirmation = group.get(i);
+                    if (updated[0][i] != 1) {
+                        results.add(Result.failed(checkoutExpired()));
+                        continue;
+                    }
+                    confirmed.add(confirmation);
+                    messages.addAll(sideEffects(confirmation.pending()));
+                    results.add(Result.of(confirmedResponse(confirmation.pending(), confirmation.authorization())));
+                }
+                savePaymentDetails(confirmed);
+                outboxService.enqueueAll(messages);
+                return results;
+            });
+        } catch (RuntimeException ex) {
+            return group.stream()
+                    .map(confirmation -> Result.attempt(() -> confirmTransaction.execute(status -> confirm(
+                            confirmation.pending(), confirmation.request(), confirmation.authorization()))))
+                    .toList();
+        }
+    }
+
+    private CheckoutResponseDto confirmedResponse(PendingCheckout pending, PaymentAuthorization authorization) {
         return CheckoutResponseDto.builder()
-                .orderId(savedOrder.getId())
-                .orderNumber(savedOrder.getOrderNumber())
-                .status(savedOrder.getStatus().name())
-                .totalAmount(savedOrder.getTotalAmount())
-                .items(mapToDto(savedOrder.getItems()))
-                .message(paymentMessage)
+                .orderId(pending.orderId())
+                .orderNumber(pending.orderNumber())
+                .status(Order.OrderStatus.PAID.name())
+                .totalAmount(pending.totalAmount())
+                .items(pending.items())
+                .message(authorization.message())
                 .build();
     }
 
-    private OrderItem buildOrderItem(Order order,
-                                    CheckoutItemDto itemDto,
-                                    List<SaleAdjustment> saleAdjustments) {
-        Product product = resolveProduct(itemDto);
+    /**
+     * Whether the order ended up confirmed; read after a failed confirmation, once compensation has
+     * settled its status.
+     */
+    private boolean isPaid(Long orderId) {
+        return Order.OrderStatus.PAID.name().equals(
+                jdbcTemplate.queryForObject(ORDER_STATUS_SQL, String.class, orderId));
+    }
+
+    /**
+     * Step 3b: cancels an order still awaiting payment and puts its stock back, in a transaction of
+     * its own. Does nothing if the order has already been confirmed or cancelled. Hot SKU counters are
+     * rebuilt from the database afterwards; their storefront stock catches up with the next sale.
+     */
+    private void compensate(Long orderId) {
+        compensateTransaction.executeWithoutResult(status -> {
+            int cancelled = jdbcTemplate.update(TRANSITION_ORDER_SQL, Order.OrderStatus.CANCELLED.name(), orderId,
+                    Order.OrderStatus.AWAITING_PAYMENT.name());
+            if (cancelled == 0) {
+                return;
+            }
+            boolean hot = false;
+            List<Map<String, Object>> lines = jdbcTemplate.queryForList(ORDER_QUANTITIES_SQL, orderId);
+            for (Map<String, Object> line : lines) {
+                Long productId = ((Number) line.get("product_id")).longValue();
+                int quantity = ((Number) line.get("quantity")).intValue();
+                jdbcTemplate.update(RESTOCK_SQL, quantity, productId);
+                if (reservationEngine.isHot(productId)) {
+                    hot = true;
+                } else {
+                    catalogReadModel.updateProductStock(productId);
+                }
+            }
+            if (hot) {
+                reservationEngine.reloadAfterCommit();
+            }
+        });
+    }
+
+    /**
+     * Loads every line's product with at most two queries (one by id, one by SKU), returned in line
+     * order.
+     */
+    private List<Product> resolveProducts(List<CheckoutItemDto> items) {
+        Set<Long> ids = new HashSet<>();
+        Set<String> skus = new HashSet<>();
+        for (CheckoutItemDto itemDto : items) {
+            if (itemDto.getProductId() != null) {
+                ids.add(itemDto.getProductId());
+            } else if (hasText(itemDto.getSku())) {
+                skus.add(itemDto.getSku());
+            } else {
+                throw new IllegalArgumentException("Product reference missing for checkout item");
+            }
+        }
+
+        Map<Long, Product> byId = ids.isEmpty() ? Map.of() : productRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        Map<String, Product> bySku = skus.isEmpty() ? Map.of() : productRepository.findBySkuIn(skus).stream()
+                .collect(Collectors.toMap(Product::getSku, Function.identity()));
+
+        List<Product> products = new ArrayList<>(items.size());
+        for (CheckoutItemDto itemDto : items) {
+            Product product = itemDto.getProductId() != null
+                    ? byId.get(itemDto.getProductId())
+                    : bySku.get(itemDto.getSku());
+            if (product == null) {
+                throw new IllegalArgumentException("Product not found");
+            }
+            products.add(product);
+        }
+        return products;
+    }
+
+    private int resolveQuantity(CheckoutItemDto itemDto) {
         int quantity = itemDto.getQuantity() != null ? itemDto.getQuantity() : 0;
         if (quantity <= 0) {
             throw new IllegalArgumentException("Item quantity must be greater than zero");
         }
+        return quantity;
+    }
 
-        int currentStock = product.getStockQuantity() != null ? product.getStockQuantity() : 0;
-        if (currentStock < quantity) {
-            throw new IllegalStateException("Insufficient stock for product: " + product.getName());
-        }
+    /**
+     * Takes the ordered quantity of every product, summed across lines, before anything is written.
+     * <p>
+     * Hot SKUs are reserved from the in-memory engine and never touch their products row. The other
+     * rows are locked with one query in ascending id order, so two checkouts sharing products always
+     * lock them in the same order and cannot deadlock. They are then checked against the locked stock
+     * and decremented with one JDBC batch; the sneaker mirror is updated by the products trigger in
+     * the same statements. The loaded entities are left unmodified, so their possibly stale stock
+     * values are never flushed back over concurrent sales.
+     */
+    private void takeStock(Map<Long, Integer> quantities,
+                           Map<Long, Product> productsById,
+                           List<SaleAdjustment> saleAdjustments,
+                           List<ReservationToken> reservations) {
+        Map<Long, Integer> remaining = new TreeMap<>();
+        List<Long> regular = new ArrayList<>();
+        quantities.forEach((productId, quantity) -> {
+            if (!reservationEngine.isHot(productId)) {
+                regular.add(productId);
+                return;
+            }
+            ReservationToken token = reservationEngine.reserve(productId, quantity)
+                    .orElseThrow(() -> insufficientStock(productsById.get(productId)));
+            reservations.add(token);
+            remaining.put(productId, token.remaining());
+        });
 
-        int newStock = currentStock - quantity;
-        product.setStockQuantity(newStock);
-        syncSneakerInventory(product, newStock);
-        saleAdjustments.add(new SaleAdjustment(product, currentStock, newStock, quantity));
+        if (!regular.isEmpty()) {
+            Map<Long, Integer> locked = productRepository.lockStockLevels(regular).stream()
+                    .collect(Collectors.toMap(StockLevel::getId, StockLevel::getStockQuantity));
+            for (Long productId : regular) {
+                int stock = locked.getOrDefault(productId, 0);
+                if (stock < quantities.get(productId)) {
+                    throw insufficientStock(productsById.get(productId));
+                }
+                remaining.put(productId, stock - quantities.get(productId));
+            }
+            int[][] updated = jdbcTemplate.batchUpdate(DECREMENT_STOCK_SQL, regular, regular.size(), (ps, productId) -> {
+                ps.setInt(1, quantities.get(productId));
+                ps.setLong(2, productId);
+                ps.setInt(3, quantities.get(productId));
+            });
+            if (Arrays.stream(updated).flatMapToInt(Arrays::stream).anyMatch(count -> count != 1)) {
+                throw new IllegalStateException("Stock changed during checkout, please retry");
+            }
+        }
+
+        remaining.forEach((productId, newStock) -> {
+            int quantity = quantities.get(productId);
+            if (reservationEngine.isHot(productId)) {
+                catalogReadModel.updateProductStock(productId, () -> reservationEngine.available(productId));
+            } else {
+                catalogReadModel.updateProductStock(productId);
+            }
+            saleAdjustments.add(new SaleAdjustment(productsById.get(productId), newStock + quantity, newStock, quantity));
+        });
+    }
+
+    private OrderItem buildOrderItem(Order order, CheckoutItemDto itemDto, Product product) {
+        int quantity = itemDto.getQuantity();
         BigDecimal unitPrice = product.getPrice();
         BigDecimal lineTotal = unitPrice.multiply(BigDecimal.valueOf(quantity));
 
@@ -160,16 +706,12 @@ public class CheckoutService {
                 .build();
     }
 
-    private Product resolveProduct(CheckoutItemDto itemDto) {
-        if (itemDto.getProductId() != null) {
-            return productRepository.findById(itemDto.getProductId())
-                    .orElseThrow(() -> new IllegalArgumentException("Product not found"));
-        }
-        if (hasText(itemDto.getSku())) {
-            return productRepository.findBySku(itemDto.getSku())
-                    .orElseThrow(() -> new IllegalArgumentException("Product not found"));
-        }
-        throw new IllegalArgumentException("Product reference missing for checkout item");
+    private static PaymentUnavailableException checkoutExpired() {
+        return new PaymentUnavailableException("Checkout expired before payment completed, please retry");
+    }
+
+    private IllegalStateException insufficientStock(Product product) {
+        return new IllegalStateException("Insufficient stock for product: " + product.getName());
     }
 
     private String resolveShippingAddress(CheckoutRequestDto request, Customer customer) {
@@ -244,7 +786,7 @@ public class CheckoutService {
     }
 
     private String generateOrderNumber() {
-        return "ORD-" + UUID.randomUUID();
+        return orderNumberGenerator.next();
     }
 
     private List<CheckoutItemDto> mapToDto(List<OrderItem> items) {
@@ -260,60 +802,80 @@ public class CheckoutService {
                 .collect(Collectors.toList());
     }
 
-    private String simulatePayment(CheckoutRequestDto request) {
-        if ("decline".equalsIgnoreCase(request.getPaymentToken())) {
-            throw new IllegalStateException("Credit Card Authorization Failed");
-        }
-        return "Payment authorized";
-    }
-
     private String normalizeSize(String size) {
         return hasText(size) ? size.trim() : null;
     }
 
-    private void syncSneakerInventory(Product product, int newStock) {
-        if (product.getId() == null) {
+    /**
+     * Stores the card details of confirmations that asked for them, with one JDBC batch in the
+     * confirming transaction. They are written here rather than through the outbox so card data,
+     * the CVV in particular, is never queued in {@code outbox_events}. Blank fields keep the saved value.
+     */
+    private void savePaymentDetails(List<GroupedConfirmation> confirmations) {
+        List<GroupedConfirmation> saving = confirmations.stream()
+                .filter(confirmation -> confirmation.request().isSavePaymentInfo())
+                .toList();
+        if (saving.isEmpty()) {
             return;
         }
-        sneakerRepository.findById(product.getId()).ifPresent(sneaker -> {
-            sneaker.setStock(newStock);
-            sneakerRepository.save(sneaker);
+        jdbcTemplate.batchUpdate(SAVE_PAYMENT_DETAILS_SQL, saving, saving.size(), (ps, confirmation) -> {
+            CheckoutRequestDto request = confirmation.request();
+            ps.setString(1, hasText(request.getCardHolder()) ? request.getCardHolder() : null);
+            ps.setString(2, hasText(request.getCardNumber()) ? request.getCardNumber() : null);
+            ps.setString(3, hasText(request.getCardExpiry()) ? request.getCardExpiry() : null);
+            ps.setString(4, hasText(request.getCardCvv()) ? request.getCardCvv() : null);
+            ps.setLong(5, confirmation.pending().customerId());
         });
     }
 
-    private void persistPaymentDetails(Customer customer, CheckoutRequestDto request) {
-        if (customer == null || !request.isSavePaymentInfo()) {
-            return;
-        }
+    /**
+     * Inventory history and cart clearing are written to the outbox in the confirming transaction and
+     * applied by {@link OutboxDispatcher} after it commits, so the product row locks are not held while
+     * they run. Inventory history rows are written by the dispatcher in batches, so they are grouped
+     * even when checkouts are not.
+     */
+    private List<OutboxMessage> sideEffects(PendingCheckout pending) {
+        List<OutboxMessage> messages = new ArrayList<>(pending.saleAdjustments().size() + 1);
+        for (SaleAdjustment adj : pending.saleAdjustments()) {
+            messages.add(new OutboxMessage(OutboxEventType.INVENTORY_SALE, new InventorySaleHandler.Sale(
+                    adj.product().getId(),
+                    adj.previousStock(),
+                    adj.newStock(),
+                    adj.quantity(),
+                    pending.orderId(),
+                    pending.orderDate())));
+        }
+        messages.add(new OutboxMessage(OutboxEventType.CART_CLEAR, new CartClearHandler.Clear(pending.customerId())));
+        return messages;
+    }
+
+    private record SaleAdjustment(Product product, int previousStock, int newStock, int quantity) {
+    }
 
-        boolean updated = false;
+    /**
+     * A validated order whose stock has been taken but which has not been saved yet.
+     */
+    private record PreparedOrder(Order order, List<ReservationToken> reservations,
+                                 List<SaleAdjustment> saleAdjustments) {
+    }
 
-        if (hasText(request.getCardHolder())
-                && !request.getCardHolder().equals(customer.getCreditCardHolder())) {
-            customer.setCreditCardHolder(request.getCardHolder());
-            updated = true;
-        }
-        if (hasText(request.getCardNumber())
-                && !request.getCardNumber().equals(customer.getCreditCardNumber())) {
-            customer.setCreditCardNumber(request.getCardNumber());
-            updated = true;
-        }
-        if (hasText(request.getCardExpiry())
-                && !request.getCardExpiry().equals(customer.getCreditCardExpiry())) {
-            customer.setCreditCardExpiry(request.getCardExpiry());
-            updated = true;
-        }
-        if (hasText(request.getCardCvv())
-                && !request.getCardCvv().equals(customer.getCreditCardCvv())) {
-            customer.setCreditCardCvv(request.getCardCvv());
-            updated = true;
-        }
+    private record GroupedReservation(CheckoutRequestDto request, Timing timing) {
+    }
 
-        if (updated) {
-            customerRepository.save(customer);
-        }
+    private record GroupedConfirmation(PendingCheckout pending,
+                                       CheckoutRequestDto request,
+                                       PaymentAuthorization authorization) {
     }
 
-    private record SaleAdjustment(Product product, int previousStock, int newStock, int quantity) {
+    /**
+     * What the confirm/compensate step needs from a reserved order once its transaction has ended.
+     */
+    private record PendingCheckout(Long orderId,
+                                   String orderNumber,
+                                   LocalDateTime orderDate,
+                                   Long customerId,
+                                   BigDecimal totalAmount,
+                                   List<CheckoutItemDto> items,
+                                   List<SaleAdjustment> saleAdjustments) {
     }
 }
@@ -23,10 +23,12 @@ public class CustomerAdminService {
         this.orderRepository = orderRepository;
     }
 
+    @Transactional(readOnly = true)
     public List<Customer> listAll() {
         return customerRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Customer findById(Long id) {
         return customerRepository.findById(id).orElse(null);
     }
@@ -61,17 +61,7 @@ public class InventoryHistoryService {
         inventoryEventRepository.save(event);
     }
 
-    @Transactional
-    public void recordSale(Product product, int previousStock, int newStock, int quantity, Long orderId) {
-        InventoryEvent event = baseEvent(product, InventoryEvent.EventType.SALE);
-        event.setPreviousStock(previousStock);
-        event.setNewStock(newStock);
-        event.setQuantityDelta(-Math.abs(quantity));
-        event.setOrderId(orderId);
-        event.setNote(orderId != null ? "Order #" + orderId : null);
-        inventoryEventRepository.save(event);
-    }
-
+    @Transactional(readOnly = true)
     public InventoryHistoryResponseDto getHistoryForProduct(Long productId) {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new IllegalArgumentException("Product not found"));
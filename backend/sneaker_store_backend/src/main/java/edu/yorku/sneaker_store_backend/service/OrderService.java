@@ -5,6 +5,7 @@ import edu.yorku.sneaker_store_backend.repository.OrderRepository;
 import edu.yorku.sneaker_store_backend.service.dto.OrderQueryParams;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -25,6 +26,7 @@ public class OrderService {
     /**
      * Retrieves order history with optional filtering by customer, status, product, and date range.
      */
+    @Transactional(readOnly = true)
     public List<Order> listOrders(OrderQueryParams params) {
         Specification<Order> spec = (root, query, cb) -> cb.conjunction();
 
@@ -55,6 +57,7 @@ public class OrderService {
     /**
      * Fetches a single order by its database identifier.
      */
+    @Transactional(readOnly = true)
     public Order getOrder(Long orderId) {
         return orderRepository.findById(orderId).orElse(null);
     }
@@ -1,17 +1,25 @@
 package edu.yorku.sneaker_store_backend.service;
 
 import edu.yorku.sneaker_store_backend.model.Product;
-import edu.yorku.sneaker_store_backend.model.Sneaker;
 import edu.yorku.sneaker_store_backend.repository.CartItemRepository;
 import edu.yorku.sneaker_store_backend.repository.InventoryEventRepository;
 import edu.yorku.sneaker_store_backend.repository.OrderRepository;
 import edu.yorku.sneaker_store_backend.repository.ProductRepository;
 import edu.yorku.sneaker_store_backend.repository.SneakerRepository;
+import edu.yorku.sneaker_store_backend.service.catalog.CatalogReadModel;
+import edu.yorku.sneaker_store_backend.service.reservation.HotSkuReservationEngine;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Admin-focused operations for managing products in the catalog.
@@ -19,38 +27,67 @@ import java.util.Objects;
 @Service
 public class ProductAdminService {
 
+    private static final int MAX_IDS_PER_REQUEST = 500;
+
     private final ProductRepository productRepository;
     private final SneakerRepository sneakerRepository;
     private final InventoryHistoryService inventoryHistoryService;
     private final OrderRepository orderRepository;
     private final CartItemRepository cartItemRepository;
     private final InventoryEventRepository inventoryEventRepository;
+    private final CatalogReadModel catalogReadModel;
+    private final HotSkuReservationEngine reservationEngine;
 
     public ProductAdminService(ProductRepository productRepository,
                                SneakerRepository sneakerRepository,
                                InventoryHistoryService inventoryHistoryService,
                                OrderRepository orderRepository,
                                CartItemRepository cartItemRepository,
-                               InventoryEventRepository inventoryEventRepository) {
+                               InventoryEventRepository inventoryEventRepository,
+                               CatalogReadModel catalogReadModel,
+                               HotSkuReservationEngine reservationEngine) {
         this.productRepository = productRepository;
         this.sneakerRepository = sneakerRepository;
         this.inventoryHistoryService = inventoryHistoryService;
         this.orderRepository = orderRepository;
         this.cartItemRepository = cartItemRepository;
         this.inventoryEventRepository = inventoryEventRepository;
+        this.catalogReadModel = catalogReadModel;
+        this.reservationEngine = reservationEngine;
     }
 
+    @Transactional(readOnly = true)
     public List<Product> listAll() {
         return productRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Product findById(Long id) {
         return productRepository.findById(id).orElse(null);
     }
 
+    /**
+     * Loads several products in one query and returns them in the order the ids were given.
+     * Unknown ids are skipped and repeated ids are returned once.
+     */
+    @Transactional(readOnly = true)
+    public List<Product> findByIds(Collection<Long> ids) {
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        if (distinct.size() > MAX_IDS_PER_REQUEST) {
+            throw new IllegalArgumentException("At most " + MAX_IDS_PER_REQUEST + " ids can be requested at once");
+        }
+        Map<Long, Product> byId = productRepository.findAllById(distinct).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        return distinct.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
     public Product create(Product product) {
         Product saved = productRepository.save(product);
         synchronizeSneaker(saved);
+        refreshReservations(saved);
         return saved;
     }
 
@@ -83,6 +120,7 @@ public class ProductAdminService {
         }
 
         synchronizeSneaker(saved);
+        refreshReservations(saved);
 
         return saved;
     }
@@ -99,7 +137,7 @@ public class ProductAdminService {
             throw new IllegalStateException("Cannot delete a product that has active orders, cart items, or inventory history.");
         }
 
-        deleteMirroredSneaker(product);
+        catalogReadModel.removeProduct(product.getId());
         return true;
     }
 
@@ -119,38 +157,24 @@ public class ProductAdminService {
         }
     }
 
+    /**
+     * Publishes the storefront sneaker for {@code product} to the catalog read model. The sneaker row
+     * itself is written by the {@code products} trigger, so this is a single indexed read.
+     */
     private void synchronizeSneaker(Product product) {
-        if (product == null) {
+        if (product == null || product.getId() == null) {
             return;
         }
-        Sneaker sneaker = sneakerRepository.findFirstByNameIgnoreCase(product.getName())
-                .orElseGet(Sneaker::new);
-
-        sneaker.setName(product.getName());
-        sneaker.setBrand(product.getBrand());
-        sneaker.setColorway(null);
-        sneaker.setPrice(product.getPrice());
-        sneaker.setStock(product.getStockQuantity());
-        sneaker.setCategory(null);
-        sneaker.setGenre(null);
-        sneaker.setDescription(product.getDescription());
-        sneaker.setImageUrl(product.getImageUrl());
-        if (sneaker.getAvailableSizes() == null || sneaker.getAvailableSizes().isEmpty()) {
-            sneaker.setAvailableSizes(List.of("8", "9", "10"));
-        }
-
-        sneakerRepository.save(sneaker);
+        sneakerRepository.findByProductId(product.getId()).ifPresent(catalogReadModel::upsert);
     }
 
-    private void deleteMirroredSneaker(Product product) {
-        if (product == null || !hasText(product.getName())) {
-            return;
+    /**
+     * Hot SKU stock is counted in memory, so a direct stock edit (or a SKU joining the hot list) has
+     * to be re-read by the reservation engine.
+     */
+    private void refreshReservations(Product product) {
+        if (reservationEngine.isHot(product.getId()) || reservationEngine.isHotSku(product.getSku())) {
+            reservationEngine.reloadAfterCommit();
         }
-        sneakerRepository.findFirstByNameIgnoreCase(product.getName())
-                .ifPresent(sneakerRepository::delete);
-    }
-
-    private boolean hasText(String value) {
-        return value != null && !value.trim().isEmpty();
     }
 }
@@ -0,0 +1,319 @@
+package edu.yorku.sneaker_store_backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.yorku.sneaker_store_backend.dto.ImportReportDto;
+import edu.yorku.sneaker_store_backend.dto.ImportRowResultDto;
+import edu.yorku.sneaker_store_backend.service.catalog.CatalogReadModel;
+import edu.yorku.sneaker_store_backend.service.reservation.HotSkuReservationEngine;
+import edu.yorku.sneaker_store_backend.service.export.ExportFormat;
+import edu.yorku.sneaker_store_backend.service.importer.CsvRecordReader;
+import edu.yorku.sneaker_store_backend.service.importer.ProductImportRow;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Bulk product import from CSV or NDJSON.
+ * <p>
+ * Rows are read sequentially, then parsed and validated in parallel. Valid rows are upserted by SKU
+ * with batched {@code INSERT ... ON CONFLICT} statements; the {@code products} trigger keeps the
+ * mirroring storefront sneakers in step, so there is no per-row sneaker lookup. The catalog read
+ * model is reloaded once after the import commits. Bulk imports do not write inventory history.
+ */
+@Service
+public class ProductImportService {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO products (sku, name, brand, description, price, stock_quantity, image_url)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (sku) DO UPDATE
+            SET name = EXCLUDED.name,
+                brand = EXCLUDED.brand,
+                description = EXCLUDED.description,
+                price = EXCLUDED.price,
+                stock_quantity = EXCLUDED.stock_quantity,
+                image_url = EXCLUDED.image_url
+            """;
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("sku", "name", "price", "stockquantity");
+
+    /** NUMERIC(10,2): eight integer digits. */
+    private static final BigDecimal MAX_PRICE = new BigDecimal("99999999.99");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final CatalogReadModel catalogReadModel;
+    private final HotSkuReservationEngine reservationEngine;
+
+    public ProductImportService(JdbcTemplate jdbcTemplate,
+                                ObjectMapper objectMapper,
+                                CatalogReadModel catalogReadModel,
+                                HotSkuReservationEngine reservationEngine) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.catalogReadModel = catalogReadModel;
+        this.reservationEngine = reservationEngine;
+    }
+
+    /**
+     * Imports every row of {@code in}. Invalid rows are reported and left out; a malformed file
+     * (e.g. a CSV header without the required columns) raises {@link IllegalArgumentException}.
+     */
+    @Transactional
+    public ImportReportDto importProducts(ExportFormat format, InputStream in) {
+        List<RawRow> rawRows = format == ExportFormat.CSV ? readCsv(in) : readNdjson(in);
+
+        Outcome[] outcomes = new Outcome[rawRows.size()];
+        IntStream.range(0, rawRows.size()).parallel().forEach(i -> outcomes[i] = validate(rawRows.get(i)));
+
+        Map<String, Integer> lastIndexBySku = new HashMap<>();
+        for (int i = 0; i < outcomes.length; i++) {
+            if (outcomes[i].row() != null) {
+                lastIndexBySku.put(outcomes[i].row().sku(), i);
+            }
+        }
+
+        List<ProductImportRow> accepted = new ArrayList<>(lastIndexBySku.size());
+        for (int i = 0; i < outcomes.length; i++) {
+            if (isLastForSku(outcomes[i], i, lastIndexBySku)) {
+                accepted.add(outcomes[i].row());
+            }
+        }
+        if (!accepted.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, accepted, BATCH_SIZE, (ps, row) -> {
+                ps.setString(1, row.sku());
+                ps.setString(2, row.name());
+                ps.setString(3, row.brand());
+                ps.setString(4, row.description());
+                ps.setBigDecimal(5, row.price());
+                ps.setInt(6, row.stockQuantity());
+                ps.setString(7, row.imageUrl());
+            });
+            catalogReadModel.reloadAfterCommit();
+            reservationEngine.reloadAfterCommit();
+        }
+
+        return report(outcomes, lastIndexBySku);
+    }
+
+    /**
+     * Builds the per-row report. Only called once the upsert has gone through, so a row is never
+     * reported as {@code UPSERTED} unless it was written.
+     */
+    private static ImportReportDto report(Outcome[] outcomes, Map<String, Integer> lastIndexBySku) {
+        List<ImportRowResultDto> results = new ArrayList<>(outcomes.length);
+        int upserted = 0;
+        int rejected = 0;
+        int skipped = 0;
+        for (int i = 0; i < outcomes.length; i++) {
+            Outcome outcome = outcomes[i];
+            String status;
+            String message = null;
+            if (outcome.row() == null) {
+                status = "REJECTED";
+                message = outcome.error();
+                rejected++;
+            } else if (!isLastForSku(outcome, i, lastIndexBySku)) {
+                status = "SKIPPED";
+                message = "SKU appears again later in the file";
+                skipped++;
+            } else {
+                status = "UPSERTED";
+                upserted++;
+            }
+            results.add(ImportRowResultDto.builder()
+                    .line(outcome.line())
+                    .sku(outcome.sku())
+                    .status(status)
+                    .message(message)
+                    .build());
+        }
+        return ImportReportDto.builder()
+                .total(outcomes.length)
+                .upserted(upserted)
+                .rejected(rejected)
+                .skipped(skipped)
+                .rows(results)
+                .build();
+    }
+
+    private static boolean isLastForSku(Outcome outcome, int index, Map<String, Integer> lastIndexBySku) {
+        return outcome.row() != null && lastIndexBySku.get(outcome.row().sku()) == index;
+    }
+
+    private List<RawRow> readNdjson(InputStream in) {
+        List<RawRow> rows = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            int line = 0;
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (!text.isBlank()) {
+                    rows.add(new RawRow(line, text, null));
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return rows;
+    }
+
+    private List<RawRow> readCsv(InputStream in) {
+        List<RawRow> rows = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            CsvRecordReader csv = new CsvRecordReader(reader);
+            List<String> header = csv.next();
+            if (header == null) {
+                return rows;
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                columns.putIfAbsent(columnKey(header.get(i)), i);
+            }
+            for (String required : REQUIRED_COLUMNS) {
+                if (!columns.containsKey(required)) {
+                    throw new IllegalArgumentException("CSV header must include sku, name, price and stockQuantity");
+                }
+            }
+            List<String> fields;
+            while ((fields = csv.next()) != null) {
+                Map<String, String> values = new HashMap<>();
+                List<String> record = fields;
+                columns.forEach((column, index) -> values.put(column, index < record.size() ? record.get(index) : null));
+                rows.add(new RawRow(csv.recordLine(), null, values));
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return rows;
+    }
+
+    private Outcome validate(RawRow raw) {
+        Function<String, String> field;
+        if (raw.json() != null) {
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(raw.json());
+            } catch (JsonProcessingException ex) {
+                return Outcome.rejected(raw.line(), null, "Malformed JSON: " + ex.getOriginalMessage());
+            }
+            if (!node.isObject()) {
+                return Outcome.rejected(raw.line(), null, "Each line must be a JSON object");
+            }
+            Map<String, String> values = new HashMap<>();
+            node.properties().forEach(entry -> values.putIfAbsent(columnKey(entry.getKey()),
+                    entry.getValue().isNull() ? null : entry.getValue().asText()));
+            field = values::get;
+        } else {
+            field = raw.fields()::get;
+        }
+
+        String sku = trimToNull(field.apply("sku"));
+        String name = trimToNull(field.apply("name"));
+        String brand = trimToNull(field.apply("brand"));
+        String description = trimToNull(field.apply("description"));
+        String imageUrl = trimToNull(field.apply("imageurl"));
+
+        List<String> errors = new ArrayList<>();
+        requireText(errors, "sku", sku, 100);
+        requireText(errors, "name", name, 255);
+        limitLength(errors, "brand", brand, 255);
+        limitLength(errors, "description", description, 1000);
+        limitLength(errors, "imageUrl", imageUrl, 500);
+
+        BigDecimal price = null;
+        String priceText = trimToNull(field.apply("price"));
+        if (priceText == null) {
+            errors.add("price is required");
+        } else {
+            try {
+                price = new BigDecimal(priceText);
+                if (price.signum() < 0 || price.compareTo(MAX_PRICE) > 0 || price.stripTrailingZeros().scale() > 2) {
+                    errors.add("price must be between 0 and " + MAX_PRICE + " with at most two decimals");
+                }
+            } catch (NumberFormatException ex) {
+                errors.add("price is not a number");
+            }
+        }
+
+        Integer stock = null;
+        String stockText = trimToNull(field.apply("stockquantity"));
+        if (stockText == null) {
+            errors.add("stockQuantity is required");
+        } else {
+            try {
+                stock = Integer.parseInt(stockText);
+                if (stock < 0) {
+                    errors.add("stockQuantity cannot be negative");
+                }
+            } catch (NumberFormatException ex) {
+                errors.add("stockQuantity is not a whole number");
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            return Outcome.rejected(raw.line(), sku, String.join("; ", errors));
+        }
+        return new Outcome(raw.line(), sku,
+                new ProductImportRow(raw.line(), sku, name, brand, description, price, stock, imageUrl), null);
+    }
+
+    private static void requireText(List<String> errors, String field, String value, int maxLength) {
+        if (value == null) {
+            errors.add(field + " is required");
+        } else {
+            limitLength(errors, field, value, maxLength);
+        }
+    }
+
+    private static void limitLength(List<String> errors, String field, String value, int maxLength) {
+        if (value != null && value.length() > maxLength) {
+            errors.add(field + " must be at most " + maxLength + " characters");
+        }
+    }
+
+    /**
+     * Header/property names are matched case-insensitively and without underscores, so
+     * {@code stockQuantity}, {@code stock_quantity} and {@code STOCKQUANTITY} are the same column.
+     */
+    private static String columnKey(String name) {
+        return name == null ? "" : name.trim().replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private record RawRow(int line, String json, Map<String, String> fields) {
+    }
+
+    private record Outcome(int line, String sku, ProductImportRow row, String error) {
+
+        static Outcome rejected(int line, String sku, String error) {
+            return new Outcome(line, sku, null, error);
+        }
+    }
+}
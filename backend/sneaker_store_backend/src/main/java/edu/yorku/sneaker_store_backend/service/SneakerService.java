@@ -1,122 +1,281 @@
 package edu.yorku.sneaker_store_backend.service;
 
+import edu.yorku.sneaker_store_backend.dto.SneakerFacetsDto;
+import edu.yorku.sneaker_store_backend.dto.SneakerPageDto;
 import edu.yorku.sneaker_store_backend.model.Sneaker;
 import edu.yorku.sneaker_store_backend.repository.SneakerRepository;
+import edu.yorku.sneaker_store_backend.service.catalog.CatalogCursor;
+import edu.yorku.sneaker_store_backend.service.catalog.CatalogFacet;
+import edu.yorku.sneaker_store_backend.service.catalog.CatalogReadModel;
+import edu.yorku.sneaker_store_backend.service.catalog.CatalogSnapshot;
+import edu.yorku.sneaker_store_backend.service.catalog.CatalogSort;
+import edu.yorku.sneaker_store_backend.service.catalog.CatalogSuggestIndex;
 import edu.yorku.sneaker_store_backend.service.dto.SneakerQueryParams;
-import org.springframework.data.domain.Sort;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
-
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Service layer for handling sneaker-related business logic.
+ * <p>
+ * Storefront reads are answered from the in-memory {@link CatalogReadModel}; writes go to the
+ * database and then publish the changed row to the read model.
  */
 @Service
 public class SneakerService {
 
+    private static final int DEFAULT_PAGE_SIZE = 24;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int DEFAULT_SUGGESTIONS = 8;
+    private static final int MAX_IDS_PER_REQUEST = 500;
+
     private final SneakerRepository sneakerRepository;
+    private final CatalogReadModel catalogReadModel;
 
-    public SneakerService(SneakerRepository sneakerRepository) {
+    public SneakerService(SneakerRepository sneakerRepository,
+                          CatalogReadModel catalogReadModel) {
         this.sneakerRepository = sneakerRepository;
+        this.catalogReadModel = catalogReadModel;
     }
 
     /**
-     * Returns all sneakers from the database.
+     * Returns all sneakers in the catalog.
      */
     public List<Sneaker> findAll() {
-        return sneakerRepository.findAll();
+        return currentCatalog().sneakers();
+    }
+
+    /**
+     * The catalog snapshot reads are currently served from. Controllers grab it once per request so
+     * the version they advertise (ETag/Last-Modified) matches the data they return.
+     */
+    public CatalogSnapshot currentCatalog() {
+        return catalogReadModel.snapshot();
     }
 
     /**
      * Finds a sneaker by its ID. Returns null if not found.
      */
     public Sneaker findById(Long id) {
-        return sneakerRepository.findById(id).orElse(null);
+        return findById(currentCatalog(), id);
+    }
+
+    public Sneaker findById(CatalogSnapshot snapshot, Long id) {
+        return snapshot.findById(id);
+    }
+
+    /**
+     * Resolves several sneakers at once, in the order the ids were given. Unknown ids are skipped and
+     * repeated ids are returned once.
+     */
+    public List<Sneaker> findByIds(CatalogSnapshot snapshot, Collection<Long> ids) {
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        if (distinct.size() > MAX_IDS_PER_REQUEST) {
+            throw new IllegalArgumentException("At most " + MAX_IDS_PER_REQUEST + " ids can be requested at once");
+        }
+        List<Sneaker> result = new ArrayList<>(distinct.size());
+        for (Long id : distinct) {
+            Sneaker sneaker = snapshot.findById(id);
+            if (sneaker != null) {
+                result.add(sneaker);
+            }
+        }
+        return result;
     }
 
     /**
      * Searches sneakers by keyword. If keyword is empty, returns all sneakers.
+     * <p>
+     * The keyword is matched against name, brand, colorway and description through the catalog's
+     * inverted index (prefixes included); without an explicit {@code sortBy}, keyword results come
+     * back ranked by relevance.
      */
     public List<Sneaker> find(SneakerQueryParams params) {
-        Specification<Sneaker> spec = Specification.anyOf();
+        return find(currentCatalog(), params);
+    }
 
-        if (!isBlank(params.getKeyword())) {
-            String keyword = params.getKeyword().toLowerCase();
-            spec = spec.and((root, query, cb) -> cb.like(cb.lower(root.get("name")), "%" + keyword + "%"));
+    public List<Sneaker> find(CatalogSnapshot snapshot, SneakerQueryParams params) {
+        BitSet matches = snapshot.match(params);
+        if (isBlank(params.getKeyword())) {
+            return snapshot.select(matches, CatalogSort.resolve(params.getSortBy(), params.getSortDirection()));
         }
-        if (!isBlank(params.getBrand())) {
-            spec = spec.and((root, query, cb) -> cb.equal(cb.lower(root.get("brand")), params.getBrand().toLowerCase()));
+
+        Map<Long, Integer> relevance = catalogReadModel.search(params.getKeyword());
+        matches.and(snapshot.rowsOf(relevance.keySet()));
+        if (isBlank(params.getSortBy())) {
+            return snapshot.rank(matches, relevance);
         }
-        if (!isBlank(params.getColorway())) {
-            spec = spec.and((root, query, cb) -> cb.equal(cb.lower(root.get("colorway")), params.getColorway().toLowerCase()));
+        return snapshot.select(matches, CatalogSort.resolve(params.getSortBy(), params.getSortDirection()));
+    }
+
+    /**
+     * Returns one page of the filtered catalog using keyset pagination. The cursor encodes the sort
+     * key and id of the last row served, and the next page starts from a binary search on that key
+     * rather than skipping over every earlier row.
+     */
+    public SneakerPageDto findPage(SneakerQueryParams params) {
+        return findPage(currentCatalog(), params);
+    }
+
+    public SneakerPageDto findPage(CatalogSnapshot snapshot, SneakerQueryParams params) {
+        int limit = resolveLimit(params.getLimit());
+        CatalogSort sort = CatalogSort.resolve(params.getSortBy(), params.getSortDirection());
+        CatalogCursor after = isBlank(params.getAfter()) ? null : CatalogCursor.decode(params.getAfter(), sort);
+
+        BitSet matches = snapshot.match(params);
+        if (!isBlank(params.getKeyword())) {
+            matches.and(snapshot.rowsOf(catalogReadModel.search(params.getKeyword()).keySet()));
         }
-        if (!isBlank(params.getCategory())) {
-            spec = spec.and((root, query, cb) -> cb.equal(cb.lower(root.get("category")), params.getCategory().toLowerCase()));
+        List<Sneaker> rows = snapshot.page(matches, sort, after, limit + 1);
+
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            nextCursor = CatalogCursor.encode(sort, rows.get(rows.size() - 1));
         }
-        if (!isBlank(params.getGenre())) {
-            spec = spec.and((root, query, cb) -> cb.equal(cb.lower(root.get("genre")), params.getGenre().toLowerCase()));
+        return SneakerPageDto.builder()
+                .items(List.copyOf(rows))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Facet counts for the storefront filters, computed from the snapshot's per-value bitmaps.
+     */
+    public SneakerFacetsDto facets(SneakerQueryParams params) {
+        return facets(currentCatalog(), params);
+    }
+
+    public SneakerFacetsDto facets(CatalogSnapshot snapshot, SneakerQueryParams params) {
+        BitSet keywordRows = null;
+        if (!isBlank(params.getKeyword())) {
+            keywordRows = snapshot.rowsOf(catalogReadModel.search(params.getKeyword()).keySet());
         }
 
-        Sort sort = resolveSort(params.getSortBy(), params.getSortDirection());
-        return sneakerRepository.findAll(spec, sort);
+        BitSet matches = snapshot.match(params);
+        if (keywordRows != null) {
+            matches.and(keywordRows);
+        }
+        Map<CatalogFacet, Map<String, Integer>> counts = snapshot.facetCounts(params, keywordRows);
+        return SneakerFacetsDto.builder()
+                .total(matches.cardinality())
+                .brands(counts.get(CatalogFacet.BRAND))
+                .colorways(counts.get(CatalogFacet.COLORWAY))
+                .categories(counts.get(CatalogFacet.CATEGORY))
+                .genres(counts.get(CatalogFacet.GENRE))
+                .build();
+    }
+
+    /**
+     * Search-box typeahead: names, brands and colorways with a word starting with {@code prefix}.
+     */
+    public List<String> suggest(String prefix, Integer limit) {
+        int resolved = limit != null ? limit : DEFAULT_SUGGESTIONS;
+        if (resolved < 1 || resolved > CatalogSuggestIndex.MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + CatalogSuggestIndex.MAX_SUGGESTIONS);
+        }
+        if (isBlank(prefix)) {
+            return List.of();
+        }
+        return catalogReadModel.suggest(prefix, resolved);
     }
 
     public List<Sneaker> findByBrand(String brand) {
-        return sneakerRepository.findByBrandIgnoreCase(brand);
+        return find(SneakerQueryParams.builder().brand(brand).build());
     }
 
-    private Sort resolveSort(String sortBy, String direction) {
-        if (isBlank(sortBy)) {
-            return Sort.by("name").ascending();
+    private int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
         }
-        Sort.Direction dir = "desc".equalsIgnoreCase(direction) ? Sort.Direction.DESC : Sort.Direction.ASC;
-        return switch (sortBy.toLowerCase()) {
-            case "price" -> Sort.by(dir, "price");
-            case "name" -> Sort.by(dir, "name");
-            default -> Sort.by(dir, "name");
-        };
+        return limit;
     }
 
     /**
      * Saves a new sneaker to the database.
      */
     public Sneaker create(Sneaker sneaker) {
-        return sneakerRepository.save(sneaker);
+        Sneaker saved = sneakerRepository.save(sneaker);
+        catalogReadModel.upsert(saved);
+        return saved;
     }
 
     /**
-     * Updates an existing sneaker if it exists.
+     * Updates an existing sneaker if it exists. A sneaker linked to a product only takes its
+     * storefront fields (colorway, sizes) from here; the mirrored ones are copied from the product by
+     * the database on every product write, so a different value for any of them is rejected with an
+     * {@link IllegalStateException} and has to be made on the product instead. Stock is the exception:
+     * it moves with every sale, so a stale value sent back by the client is simply ignored.
      */
     public Sneaker update(Long id, Sneaker updated) {
-        Sneaker existing = findById(id);
+        Sneaker existing = sneakerRepository.findById(id).orElse(null);
         if (existing == null) {
             return null;
         }
-        existing.setName(updated.getName());
-        existing.setBrand(updated.getBrand());
+        if (existing.getProductId() != null) {
+            rejectMirroredChanges(existing, updated);
+        } else {
+            existing.setName(updated.getName());
+            existing.setBrand(updated.getBrand());
+            existing.setPrice(updated.getPrice());
+            existing.setStock(updated.getStock());
+            existing.setDescription(updated.getDescription());
+            existing.setImageUrl(updated.getImageUrl());
+        }
         existing.setColorway(updated.getColorway());
-        existing.setPrice(updated.getPrice());
-        existing.setStock(updated.getStock());
         existing.setAvailableSizes(updated.getAvailableSizes());
-        existing.setDescription(updated.getDescription());
-        existing.setImageUrl(updated.getImageUrl());
-        return sneakerRepository.save(existing);
+        Sneaker saved = sneakerRepository.save(existing);
+        catalogReadModel.upsert(saved);
+        return saved;
     }
 
     /**
-     * Deletes a sneaker by ID. Returns true if successful.
+     * Deletes a sneaker by ID. Returns true if successful. A sneaker linked to a product cannot be
+     * deleted on its own (the product's next write would recreate it); deleting the product removes it.
      */
     public boolean delete(Long id) {
-        if (!sneakerRepository.existsById(id)) {
+        Sneaker existing = sneakerRepository.findById(id).orElse(null);
+        if (existing == null) {
             return false;
         }
-        sneakerRepository.deleteById(id);
+        if (existing.getProductId() != null) {
+            throw new IllegalStateException("Sneaker " + id + " mirrors product " + existing.getProductId()
+                    + "; delete the product instead");
+        }
+        sneakerRepository.delete(existing);
+        catalogReadModel.remove(id);
         return true;
     }
 
+    private static void rejectMirroredChanges(Sneaker existing, Sneaker updated) {
+        boolean changed = differs(existing.getName(), updated.getName())
+                || differs(existing.getBrand(), updated.getBrand())
+                || differs(existing.getDescription(), updated.getDescription())
+                || differs(existing.getImageUrl(), updated.getImageUrl())
+                || (updated.getPrice() != null && (existing.getPrice() == null
+                        || existing.getPrice().compareTo(updated.getPrice()) != 0));
+        if (changed) {
+            throw new IllegalStateException("Sneaker " + existing.getId() + " mirrors product " + existing.getProductId()
+                    + "; change its name, brand, price, description and image on the product");
+        }
+    }
+
+    /**
+     * A field left out of the request ({@code null}) counts as unchanged.
+     */
+    private static boolean differs(Object current, Object requested) {
+        return requested != null && !requested.equals(current);
+    }
+
     private boolean isBlank(String value) {
         return value == null || value.isBlank();
     }
@@ -0,0 +1,12 @@
+package edu.yorku.sneaker_store_backend.service.admission;
+
+/**
+ * Thrown when a checkout is turned away because its partition's queue is full or it waited longer
+ * than allowed; controllers answer it with HTTP 429.
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    public AdmissionRejectedException(String message) {
+        super(message);
+    }
+}
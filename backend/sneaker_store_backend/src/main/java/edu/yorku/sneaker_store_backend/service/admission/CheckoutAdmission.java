@@ -0,0 +1,195 @@
+package edu.yorku.sneaker_store_backend.service.admission;
+
+import edu.yorku.sneaker_store_backend.dto.CheckoutItemDto;
+import edu.yorku.sneaker_store_backend.dto.CheckoutRequestDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Admission control in front of checkout.
+ * <p>
+ * Checkouts are hashed onto a fixed number of partitions by the products they reference, and each
+ * partition runs their stock-reservation step one at a time on its own virtual thread (payment is
+ * authorized afterwards, on the caller's thread). Buyers of the same hot SKU therefore queue here,
+ * in memory, instead of all holding a pooled connection while they wait for the same row lock.
+ * With fewer partitions than pool connections, reservations can never drain the pool by themselves. Each partition queue is bounded. When it is full the request is
+ * rejected at once, and a request that waits longer than {@code max-wait} gives up; both surface as
+ * {@link AdmissionRejectedException} (HTTP 429).
+ * <p>
+ * An order for several products is placed on the partition of its smallest product reference, so
+ * only single-product orders are strictly serialized per SKU; the database still guards every
+ * stock change. Metrics: {@code checkout.admission.queue} (depth per partition),
+ * {@code checkout.admission.wait} (time queued) and {@code checkout.admission.rejected}.
+ */
+@Component
+public class CheckoutAdmission {
+
+    private final boolean enabled;
+    private final Duration maxWait;
+    private final ThreadPoolExecutor[] partitions;
+    private final Timer waitTimer;
+    private final Counter queueFull;
+    private final Counter timedOut;
+
+    public CheckoutAdmission(MeterRegistry meterRegistry,
+                             @Value("${app.checkout.admission.enabled:true}") boolean enabled,
+                             @Value("${app.checkout.admission.partitions:8}") int partitionCount,
+                             @Value("${app.checkout.admission.queue-capacity:200}") int queueCapacity,
+                             @Value("${app.checkout.admission.max-wait:PT10S}") Duration maxWait) {
+        this.enabled = enabled;
+        this.maxWait = maxWait;
+        this.partitions = new ThreadPoolExecutor[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            ThreadPoolExecutor partition = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    Thread.ofVirtual().name("checkout-partition-" + i + "-", 0).factory(),
+                    new ThreadPoolExecutor.AbortPolicy());
+            partitions[i] = partition;
+            Gauge.builder("checkout.admission.queue", partition, executor -> executor.getQueue().size())
+                    .description("Checkouts waiting in a partition queue")
+                    .tag("partition", String.valueOf(i))
+                    .register(meterRegistry);
+        }
+        this.waitTimer = Timer.builder("checkout.admission.wait")
+                .description("Time a checkout spent queued before it started")
+                .register(meterRegistry);
+        this.queueFull = Counter.builder("checkout.admission.rejected")
+                .tag("reason", "queue_full")
+                .register(meterRegistry);
+        this.timedOut = Counter.builder("checkout.admission.rejected")
+                .tag("reason", "timeout")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code work} on the partition of {@code request} and waits for its result. Exceptions
+     * thrown by {@code work} are rethrown as they are.
+     */
+    public <T> T submit(CheckoutRequestDto request, Supplier<T> work) {
+        if (!enabled) {
+            return work.get();
+        }
+        ThreadPoolExecutor partition = partitions[Math.floorMod(partitionKey(request).hashCode(), partitions.length)];
+        long queuedAt = System.nanoTime();
+        // Set by whichever side acts first: the worker starting the task, or the caller giving up.
+        AtomicBoolean decided = new AtomicBoolean();
+        Future<T> future;
+        try {
+            future = partition.submit(() -> {
+                if (!decided.compareAndSet(false, true)) {
+                    return null;
+                }
+                waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return work.get();
+            });
+        } catch (RejectedExecutionException ex) {
+            queueFull.increment();
+            throw new AdmissionRejectedException("Checkout is busy, please retry shortly");
+        }
+
+        try {
+            return future.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            // Only a request still in the queue is withdrawn; one that has started runs to completion
+            // so the caller never reports a failure for an order that was placed.
+            if (decided.compareAndSet(false, true)) {
+                partition.remove((Runnable) future);
+                timedOut.increment();
+                throw new AdmissionRejectedException("Checkout is busy, please retry shortly");
+            }
+            return awaitStarted(future);
+        } catch (InterruptedException ex) {
+            try {
+                if (decided.compareAndSet(false, true)) {
+                    partition.remove((Runnable) future);
+                    throw new AdmissionRejectedException("Checkout was interrupted");
+                }
+                return awaitStarted(future);
+            } finally {
+                Thread.currentThread().interrupt();
+            }
+        } catch (ExecutionException ex) {
+            throw rethrow(ex);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ThreadPoolExecutor partition : partitions) {
+            partition.shutdown();
+        }
+    }
+
+    /**
+     * Smallest product reference of the order, so the same set of products always maps to the same
+     * partition whatever the line order.
+     */
+    static String partitionKey(CheckoutRequestDto request) {
+        if (request.getItems() == null) {
+            return "";
+        }
+        return request.getItems().stream()
+                .filter(Objects::nonNull)
+                .map(CheckoutAdmission::reference)
+                .filter(Objects::nonNull)
+                .min(String::compareTo)
+                .orElse("");
+    }
+
+    private static String reference(CheckoutItemDto item) {
+        if (item.getProductId() != null) {
+            return "id:" + item.getProductId();
+        }
+        return item.getSku() != null ? "sku:" + item.getSku().trim() : null;
+    }
+
+    /**
+     * Waits, uninterruptibly, for a checkout that has already started.
+     */
+    private static <T> T awaitStarted(Future<T> future) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return future.get();
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                } catch (ExecutionException ex) {
+                    throw rethrow(ex);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static RuntimeException rethrow(ExecutionException ex) {
+        Throwable cause = ex.getCause();
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+}
@@ -0,0 +1,47 @@
+package edu.yorku.sneaker_store_backend.service.catalog;
+
+import edu.yorku.sneaker_store_backend.model.Sneaker;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position encoded as {@code field|direction|id|value} in URL-safe Base64. The sort is
+ * embedded so a cursor issued for one ordering cannot be replayed against another.
+ */
+public record CatalogCursor(CatalogSort.Field field, long id, Object value) {
+
+    public static String encode(CatalogSort sort, Sneaker last) {
+        Object value = sort.field() == CatalogSort.Field.PRICE ? last.getPrice().toPlainString() : last.getName();
+        String raw = sort.field().name() + "|" + direction(sort) + "|" + last.getId() + "|" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CatalogCursor decode(String token, CatalogSort sort) {
+        String[] parts;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            parts = raw.split("\\|", 4);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (!parts[0].equals(sort.field().name()) || !parts[1].equals(direction(sort))) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort order");
+        }
+        try {
+            long id = Long.parseLong(parts[2]);
+            Object value = sort.field() == CatalogSort.Field.PRICE ? new BigDecimal(parts[3]) : parts[3];
+            return new CatalogCursor(sort.field(), id, value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private static String direction(CatalogSort sort) {
+        return sort.descending() ? "DESC" : "ASC";
+    }
+}
@@ -0,0 +1,36 @@
+package edu.yorku.sneaker_store_backend.service.catalog;
+
+import edu.yorku.sneaker_store_backend.model.Sneaker;
+
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Sneaker attributes the storefront filters on by exact (case-insensitive) value.
+ */
+public enum CatalogFacet {
+    BRAND(Sneaker::getBrand),
+    COLORWAY(Sneaker::getColorway),
+    CATEGORY(Sneaker::getCategory),
+    GENRE(Sneaker::getGenre);
+
+    private final Function<Sneaker, String> accessor;
+
+    CatalogFacet(Function<Sneaker, String> accessor) {
+        this.accessor = accessor;
+    }
+
+    String valueOf(Sneaker sneaker) {
+        return accessor.apply(sneaker);
+    }
+
+    /**
+     * Normalizes a raw attribute or filter value into the bitmap key, or {@code null} when blank.
+     */
+    static String key(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
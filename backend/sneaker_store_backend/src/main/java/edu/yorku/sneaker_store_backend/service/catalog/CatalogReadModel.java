@@ -0,0 +1,288 @@
+package edu.yorku.sneaker_store_backend.service.catalog;
+
+import edu.yorku.sneaker_store_backend.model.Sneaker;
+import edu.yorku.sneaker_store_backend.repository.SneakerRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * Holds the current {@link CatalogSnapshot} that storefront reads are answered from.
+ * <p>
+ * The snapshot is loaded from the database once. After that, every sneaker write names the changed
+ * rows here, and once its transaction commits they are read back from the primary. The new snapshot
+ * is built off the previous one and swapped in atomically, so readers never block and never see a
+ * half-applied change.
+ * <p>
+ * Rows are read back rather than taken from the writer because concurrent transactions may run
+ * their after-commit callbacks in a different order than they committed; a read made after the
+ * commit always sees that commit and every earlier one. Re-reads run one at a time and each one
+ * takes every row marked since the last, so a burst of commits is folded into a single query and
+ * a single new snapshot. The keyword {@link CatalogSearchIndex} and the typeahead
+ * {@link CatalogSuggestIndex} are maintained alongside the snapshot and updated one sneaker at a time.
+ * <p>
+ * Each published change bumps the catalog version. Versions start from the boot time in
+ * milliseconds, so they keep increasing across restarts and an ETag handed out by a previous run is
+ * never mistaken for the current catalog.
+ */
+@Component
+public class CatalogReadModel {
+
+    private final SneakerRepository sneakerRepository;
+    private final TransactionTemplate primaryRead;
+    private final CatalogSearchIndex searchIndex = new CatalogSearchIndex();
+    private final CatalogSuggestIndex suggestIndex = new CatalogSuggestIndex();
+    private final Object writeLock = new Object();
+    private final Object refreshLock = new Object();
+    private final Set<Long> staleSneakers = ConcurrentHashMap.newKeySet();
+    private final Set<Long> staleProducts = ConcurrentHashMap.newKeySet();
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    private volatile CatalogSnapshot snapshot;
+
+    public CatalogReadModel(SneakerRepository sneakerRepository,
+                            PlatformTransactionManager transactionManager) {
+        this.sneakerRepository = sneakerRepository;
+        this.primaryRead = new TransactionTemplate(transactionManager);
+        this.primaryRead.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        reload();
+    }
+
+    /**
+     * Current snapshot, loading it on first use.
+     */
+    public CatalogSnapshot snapshot() {
+        CatalogSnapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (writeLock) {
+            if (snapshot == null) {
+                reload();
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Rebuilds the snapshot from the {@code sneakers} table. The rows are read in a separate read-write
+     * transaction so they come from the primary: a reload usually follows a write that a replica may
+     * not have applied yet.
+     */
+    public void reload() {
+        synchronized (writeLock) {
+            List<Sneaker> copies = primaryRead.execute(status -> sneakerRepository.findAllWithSizes().stream()
+                    .map(CatalogReadModel::copyOf)
+                    .toList());
+            snapshot = CatalogSnapshot.of(copies, version.incrementAndGet(), Instant.now());
+            searchIndex.rebuild(copies);
+            suggestIndex.rebuild(copies);
+        }
+    }
+
+    /**
+     * Rebuilds the snapshot once the current transaction commits; used after bulk writes that touch
+     * too many rows to publish one by one.
+     */
+    public void reloadAfterCommit() {
+        afterCommit(this::reload);
+    }
+
+    /**
+     * Relevance scores, keyed by sneaker id, for sneakers matching every token of {@code keyword}.
+     */
+    public Map<Long, Integer> search(String keyword) {
+        snapshot();
+        return searchIndex.search(keyword);
+    }
+
+    /**
+     * Typeahead completions for {@code prefix}, most common first.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        snapshot();
+        return suggestIndex.suggest(prefix, limit);
+    }
+
+    /**
+     * Publishes a created or updated sneaker once the current transaction commits.
+     */
+    public void upsert(Sneaker sneaker) {
+        if (sneaker != null) {
+            refreshSneakerAfterCommit(sneaker.getId());
+        }
+    }
+
+    /**
+     * Publishes a stock change made on a product. The database trigger has already copied it onto the
+     * mirroring sneaker, which is read back once the current transaction commits.
+     */
+    public void updateProductStock(Long productId) {
+        refreshProductAfterCommit(productId);
+    }
+
+    /**
+     * Publishes a stock change on a product whose stock is kept outside the database (hot SKUs).
+     * {@code stock} is read when the change is applied, after the current transaction commits, so the
+     * snapshot always ends up with the latest value whatever order commits are published in.
+     */
+    public void updateProductStock(Long productId, IntSupplier stock) {
+        if (productId == null) {
+            return;
+        }
+        afterCommit(() -> {
+            synchronized (writeLock) {
+                CatalogSnapshot current = snapshot();
+                Sneaker sneaker = current.findByProductId(productId);
+                if (sneaker == null) {
+                    return;
+                }
+                Sneaker copy = copyOf(sneaker);
+                copy.setStock(stock.getAsInt());
+                snapshot = current.withChanges(List.of(copy), Set.of(), version.incrementAndGet(), Instant.now());
+            }
+        });
+    }
+
+    /**
+     * Publishes the removal of the sneaker mirroring a product (deleted in the database by cascade).
+     */
+    public void removeProduct(Long productId) {
+        refreshProductAfterCommit(productId);
+    }
+
+    /**
+     * Publishes the removal of a sneaker.
+     */
+    public void remove(Long id) {
+        refreshSneakerAfterCommit(id);
+    }
+
+    private void refreshSneakerAfterCommit(Long id) {
+        if (id != null) {
+            afterCommit(() -> {
+                staleSneakers.add(id);
+                refresh();
+            });
+        }
+    }
+
+    private void refreshProductAfterCommit(Long productId) {
+        if (productId != null) {
+            afterCommit(() -> {
+                staleProducts.add(productId);
+                refresh();
+            });
+        }
+    }
+
+    /**
+     * Reads every row marked stale so far back from the primary and publishes them as one change.
+     * Rows that no longer exist are removed. Returns at once if a concurrent refresh already took
+     * this caller's rows; that refresh started reading after they were marked, so it saw the commit.
+     */
+    private void refresh() {
+        synchronized (refreshLock) {
+            Set<Long> sneakerIds = drain(staleSneakers);
+            Set<Long> productIds = drain(staleProducts);
+            if (sneakerIds.isEmpty() && productIds.isEmpty()) {
+                return;
+            }
+            List<Sneaker> rows = primaryRead.execute(status -> {
+                List<Sneaker> loaded = new ArrayList<>();
+                if (!sneakerIds.isEmpty()) {
+                    loaded.addAll(sneakerRepository.findAllWithSizesByIdIn(sneakerIds));
+                }
+                if (!productIds.isEmpty()) {
+                    loaded.addAll(sneakerRepository.findAllWithSizesByProductIdIn(productIds));
+                }
+                return loaded.stream().map(CatalogReadModel::copyOf).toList();
+            });
+
+            synchronized (writeLock) {
+                CatalogSnapshot current = snapshot();
+                Map<Long, Sneaker> upserts = new HashMap<>();
+                rows.forEach(row -> upserts.put(row.getId(), row));
+                Set<Long> removed = new HashSet<>();
+                sneakerIds.stream().filter(id -> !upserts.containsKey(id)).forEach(removed::add);
+                Set<Long> loadedProducts = new HashSet<>();
+                rows.forEach(row -> loadedProducts.add(row.getProductId()));
+                for (Long productId : productIds) {
+                    Sneaker mirror = current.findByProductId(productId);
+                    if (mirror != null && !loadedProducts.contains(productId) && !upserts.containsKey(mirror.getId())) {
+                        removed.add(mirror.getId());
+                    }
+                }
+                snapshot = current.withChanges(upserts.values(), removed, version.incrementAndGet(), Instant.now());
+                upserts.values().forEach(row -> {
+                    searchIndex.index(row);
+                    suggestIndex.index(row);
+                });
+                removed.forEach(id -> {
+                    searchIndex.remove(id);
+                    suggestIndex.remove(id);
+                });
+            }
+        }
+    }
+
+    private static Set<Long> drain(Set<Long> stale) {
+        Set<Long> drained = new HashSet<>();
+        for (Long id : stale) {
+            if (stale.remove(id)) {
+                drained.add(id);
+            }
+        }
+        return drained;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static Sneaker copyOf(Sneaker source) {
+        return Sneaker.builder()
+                .id(source.getId())
+                .productId(source.getProductId())
+                .name(source.getName())
+                .brand(source.getBrand())
+                .colorway(source.getColorway())
+                .price(source.getPrice())
+                .stock(source.getStock())
+                .category(source.getCategory())
+                .genre(source.getGenre())
+                .availableSizes(source.getAvailableSizes() != null ? List.copyOf(source.getAvailableSizes()) : List.of())
+                .description(source.getDescription())
+                .imageUrl(source.getImageUrl())
+                .build();
+    }
+}
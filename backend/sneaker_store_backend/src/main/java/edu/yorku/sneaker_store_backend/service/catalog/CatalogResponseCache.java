@@ -0,0 +1,113 @@
+package edu.yorku.sneaker_store_backend.service.catalog;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caches fully serialized catalog responses so repeated queries skip both the snapshot lookup and
+ * Jackson. Each entry holds the JSON bytes plus a gzip variant, and entries are evicted
+ * least-recently-used once their combined size exceeds the configured budget.
+ * <p>
+ * Entries are only valid for the catalog version they were rendered from; the first lookup after
+ * a catalog write sees a newer version and drops everything.
+ */
+@Component
+public class CatalogResponseCache {
+
+    /** Bodies smaller than this are not worth compressing. */
+    private static final int MIN_GZIP_BYTES = 512;
+
+    private final ObjectMapper objectMapper;
+    private final long maxBytes;
+
+    private final LinkedHashMap<Object, CachedResponse> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long cachedVersion = Long.MIN_VALUE;
+    private long totalBytes;
+
+    public CatalogResponseCache(ObjectMapper objectMapper,
+                                @Value("${app.catalog.response-cache.max-bytes:16777216}") long maxBytes) {
+        this.objectMapper = objectMapper;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns the cached response for {@code key} at {@code version}, rendering and caching
+     * {@code body} on a miss. Exceptions thrown by {@code body} propagate and nothing is cached.
+     * {@code key} is compared with {@code equals}, so use a value type such as a record or list.
+     */
+    public CachedResponse get(long version, Object key, Supplier<Object> body) {
+        synchronized (this) {
+            if (version != cachedVersion) {
+                if (version < cachedVersion) {
+                    return render(version, body.get());
+                }
+                entries.clear();
+                totalBytes = 0;
+                cachedVersion = version;
+            }
+            CachedResponse hit = entries.get(key);
+            if (hit != null) {
+                return hit;
+            }
+        }
+
+        CachedResponse rendered = render(version, body.get());
+        synchronized (this) {
+            if (version == cachedVersion && rendered.size() <= maxBytes) {
+                CachedResponse previous = entries.put(key, rendered);
+                totalBytes += rendered.size() - (previous != null ? previous.size() : 0);
+                evictOverflow();
+            }
+        }
+        return rendered;
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<Object, CachedResponse>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().getValue().size();
+            eldest.remove();
+        }
+    }
+
+    private CachedResponse render(long version, Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            byte[] gzip = json.length >= MIN_GZIP_BYTES ? gzip(json) : null;
+            return new CachedResponse(version, json, gzip);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unable to serialize catalog response", ex);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(json);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Serialized response body; {@code gzip} is {@code null} when the body is too small to compress.
+     */
+    public record CachedResponse(long version, byte[] json, byte[] gzip) {
+
+        long size() {
+            return json.length + (gzip != null ? gzip.length : 0L);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package edu.yorku.sneaker_store_backend.service.catalog;
+
+import edu.yorku.sneaker_store_backend.model.Sneaker;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over sneaker name, brand, colorway and description.
+ * <p>
+ * Terms are kept in a sorted map so a query token matches every term it prefixes with a single
+ * range lookup. Each posting records how strongly the term is tied to the sneaker (a name hit counts
+ * more than a description hit), which is what results are ranked by. Sneakers are indexed one at a
+ * time, so a write only touches the postings of the terms that sneaker carries.
+ */
+public class CatalogSearchIndex {
+
+    private static final int NAME_WEIGHT = 8;
+    private static final int BRAND_WEIGHT = 4;
+    private static final int COLORWAY_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    /** Exact term matches outrank matches where the query token is only a prefix of the term. */
+    private static final int EXACT_MATCH_BOOST = 2;
+
+    private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Set<String>> termsBySneaker = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Replaces the whole index with {@code sneakers}.
+     */
+    public void rebuild(Collection<Sneaker> sneakers) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            termsBySneaker.clear();
+            sneakers.forEach(this::addLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a sneaker, replacing whatever was indexed for its id before.
+     */
+    public void index(Sneaker sneaker) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(sneaker.getId());
+            addLocked(sneaker);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long sneakerId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(sneakerId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the relevance score of every sneaker matching all tokens of {@code query}, keyed by
+     * sneaker id. A token matches a term it equals or prefixes; an empty map means no match.
+     */
+    public Map<Long, Integer> search(String query) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return Map.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> scores = null;
+            for (String token : tokens) {
+                Map<Long, Integer> tokenScores = scoreToken(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((id, score) -> score + tokenScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+            return scores;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Integer> scoreToken(String token) {
+        Map<Long, Integer> scores = new HashMap<>();
+        SortedMap<String, Map<Long, Integer>> matches = postings.subMap(token, token + Character.MAX_VALUE);
+        for (Map.Entry<String, Map<Long, Integer>> term : matches.entrySet()) {
+            int boost = term.getKey().length() == token.length() ? EXACT_MATCH_BOOST : 1;
+            term.getValue().forEach((id, weight) -> scores.merge(id, weight * boost, Math::max));
+        }
+        return scores;
+    }
+
+    private void addLocked(Sneaker sneaker) {
+        Map<String, Integer> weights = new HashMap<>();
+        addField(weights, sneaker.getName(), NAME_WEIGHT);
+        addField(weights, sneaker.getBrand(), BRAND_WEIGHT);
+        addField(weights, sneaker.getColorway(), COLORWAY_WEIGHT);
+        addField(weights, sneaker.getDescription(), DESCRIPTION_WEIGHT);
+
+        Long id = sneaker.getId();
+        weights.forEach((term, weight) -> postings.computeIfAbsent(term, ignored -> new HashMap<>()).put(id, weight));
+        termsBySneaker.put(id, new HashSet<>(weights.keySet()));
+    }
+
+    private void removeLocked(Long sneakerId) {
+        Set<String> terms = termsBySneaker.remove(sneakerId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Integer> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(sneakerId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private void addField(Map<String, Integer> weights, String text, int weight) {
+        for (String term : tokenize(text)) {
+            weights.merge(term, weight, Integer::sum);
+        }
+    }
+
+    /**
+     * Lower-cases {@code text} and splits it on anything that is not a letter or digit.
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,441 @@
+package edu.yorku.sneaker_store_backend.service.catalog;
+
+import edu.yorku.sneaker_store_backend.model.Sneaker;
+import edu.yorku.sneaker_store_backend.service.dto.SneakerQueryParams;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Immutable, column-oriented copy of the sneaker catalog.
+ * <p>
+ * Rows are numbered by ascending id. Each facet value owns a {@link BitSet} of the rows carrying it,
+ * so filters are bitmap intersections, and the name/price orderings are precomputed permutations of
+ * row numbers. Price ranges are answered by binary search over the price ordering and the in-stock
+ * filter is one more bitmap, so neither needs a scan of the catalog.
+ * <p>
+ * Instances are never mutated after construction; writers build a new snapshot and swap it in
+ * through {@link CatalogReadModel}. Every snapshot carries the catalog version it was built for,
+ * which clients see as the ETag of catalog responses.
+ */
+public final class CatalogSnapshot {
+
+    private final long version;
+    private final Instant lastModified;
+    private final Sneaker[] rows;
+    private final long[] ids;
+    private final long[] sizeMasks;
+    private final Map<Long, Integer> rowById;
+    private final Map<Long, Integer> rowByProductId;
+    private final Map<CatalogFacet, Map<String, BitSet>> facets;
+    private final Map<CatalogFacet, Map<String, String>> labels;
+    private final int[] byName;
+    private final int[] byPrice;
+    private final BigDecimal[] sortedPrices;
+    private final BitSet inStock;
+
+    private CatalogSnapshot(Sneaker[] rows, long version, Instant lastModified) {
+        this.version = version;
+        this.lastModified = lastModified;
+        this.rows = rows;
+        int size = rows.length;
+        this.ids = new long[size];
+        this.sizeMasks = new long[size];
+        this.rowById = new HashMap<>(Math.max(16, size * 2));
+        this.rowByProductId = new HashMap<>(Math.max(16, size * 2));
+        this.inStock = new BitSet(size);
+        this.facets = new EnumMap<>(CatalogFacet.class);
+        this.labels = new EnumMap<>(CatalogFacet.class);
+        for (CatalogFacet facet : CatalogFacet.values()) {
+            facets.put(facet, new HashMap<>());
+            labels.put(facet, new TreeMap<>());
+        }
+
+        for (int row = 0; row < size; row++) {
+            Sneaker sneaker = rows[row];
+            ids[row] = sneaker.getId();
+            sizeMasks[row] = SizeMask.of(sneaker.getAvailableSizes());
+            rowById.put(sneaker.getId(), row);
+            if (sneaker.getProductId() != null) {
+                rowByProductId.put(sneaker.getProductId(), row);
+            }
+            if (sneaker.getStock() != null && sneaker.getStock() > 0) {
+                inStock.set(row);
+            }
+            for (CatalogFacet facet : CatalogFacet.values()) {
+                String value = facet.valueOf(sneaker);
+                String key = CatalogFacet.key(value);
+                if (key != null) {
+                    facets.get(facet).computeIfAbsent(key, ignored -> new BitSet(size)).set(row);
+                    labels.get(facet).putIfAbsent(key, value.trim());
+                }
+            }
+        }
+
+        this.byName = order(CatalogSort.ascending(CatalogSort.Field.NAME));
+        this.byPrice = order(CatalogSort.ascending(CatalogSort.Field.PRICE));
+        this.sortedPrices = new BigDecimal[size];
+        for (int i = 0; i < size; i++) {
+            sortedPrices[i] = rows[byPrice[i]].getPrice();
+        }
+    }
+
+    /**
+     * Copy of {@code source} with some rows replaced by sneakers that differ from them only in stock.
+     * Orderings, facets and lookups are shared with {@code source}; only the rows and the in-stock
+     * bitmap are copied.
+     */
+    private CatalogSnapshot(CatalogSnapshot source, Map<Integer, Sneaker> restocked, long version, Instant lastModified) {
+        this.version = version;
+        this.lastModified = lastModified;
+        this.rows = source.rows.clone();
+        this.inStock = (BitSet) source.inStock.clone();
+        restocked.forEach((row, sneaker) -> {
+            rows[row] = sneaker;
+            inStock.set(row, sneaker.getStock() != null && sneaker.getStock() > 0);
+        });
+        this.ids = source.ids;
+        this.sizeMasks = source.sizeMasks;
+        this.rowById = source.rowById;
+        this.rowByProductId = source.rowByProductId;
+        this.facets = source.facets;
+        this.labels = source.labels;
+        this.byName = source.byName;
+        this.byPrice = source.byPrice;
+        this.sortedPrices = source.sortedPrices;
+    }
+
+    /**
+     * Builds a snapshot from detached sneaker copies. Callers must not mutate the instances afterwards.
+     */
+    public static CatalogSnapshot of(Collection<Sneaker> sneakers, long version, Instant lastModified) {
+        Sneaker[] rows = sneakers.toArray(Sneaker[]::new);
+        Arrays.sort(rows, Comparator.comparing(Sneaker::getId));
+        return new CatalogSnapshot(rows, version, lastModified);
+    }
+
+    /**
+     * Monotonically increasing catalog version; bumped by every published write.
+     */
+    public long version() {
+        return version;
+    }
+
+    public Instant lastModified() {
+        return lastModified;
+    }
+
+    public int size() {
+        return rows.length;
+    }
+
+    /**
+     * Every sneaker in id order.
+     */
+    public List<Sneaker> sneakers() {
+        return Collections.unmodifiableList(Arrays.asList(rows));
+    }
+
+    public Sneaker findById(Long id) {
+        Integer row = id != null ? rowById.get(id) : null;
+        return row != null ? rows[row] : null;
+    }
+
+    /**
+     * The sneaker mirroring the given product, if any.
+     */
+    public Sneaker findByProductId(Long productId) {
+        Integer row = productId != null ? rowByProductId.get(productId) : null;
+        return row != null ? rows[row] : null;
+    }
+
+    /**
+     * Returns a copy of this snapshot with {@code upserts} inserted or replacing the rows with the same
+     * ids and the rows for {@code removedIds} dropped. When every change only touches the stock of an
+     * existing row, as checkouts do, the rows are patched in place of a full rebuild.
+     */
+    CatalogSnapshot withChanges(Collection<Sneaker> upserts, Set<Long> removedIds, long nextVersion, Instant modifiedAt) {
+        Map<Integer, Sneaker> restocked = new HashMap<>();
+        boolean stockOnly = removedIds.stream().noneMatch(rowById::containsKey);
+        for (Sneaker sneaker : upserts) {
+            Integer row = rowById.get(sneaker.getId());
+            if (row == null || !sameExceptStock(rows[row], sneaker)) {
+                stockOnly = false;
+                break;
+            }
+            restocked.put(row, sneaker);
+        }
+        if (stockOnly) {
+            return new CatalogSnapshot(this, restocked, nextVersion, modifiedAt);
+        }
+
+        Map<Long, Sneaker> next = new HashMap<>(Math.max(16, (rows.length + upserts.size()) * 2));
+        for (Sneaker row : rows) {
+            if (!removedIds.contains(row.getId())) {
+                next.put(row.getId(), row);
+            }
+        }
+        upserts.forEach(sneaker -> next.put(sneaker.getId(), sneaker));
+        return of(next.values(), nextVersion, modifiedAt);
+    }
+
+    private static boolean sameExceptStock(Sneaker current, Sneaker updated) {
+        if (!Objects.equals(current.getProductId(), updated.getProductId())
+                || !Objects.equals(current.getName(), updated.getName())
+                || !Objects.equals(current.getAvailableSizes(), updated.getAvailableSizes())) {
+            return false;
+        }
+        if (current.getPrice() == null ? updated.getPrice() != null
+                : updated.getPrice() == null || current.getPrice().compareTo(updated.getPrice()) != 0) {
+            return false;
+        }
+        for (CatalogFacet facet : CatalogFacet.values()) {
+            if (!Objects.equals(facet.valueOf(current), facet.valueOf(updated))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Evaluates the facet filters in {@code params} and returns the matching rows. Keyword search is
+     * resolved separately through {@link CatalogSearchIndex} and combined via {@link #rowsOf}.
+     */
+    public BitSet match(SneakerQueryParams params) {
+        return match(params, null);
+    }
+
+    /**
+     * Counts, for every value of every facet, how many rows would match if that value were selected
+     * together with the rest of the current selection. A facet's own filter is left out of its counts
+     * so the storefront can show the alternatives to the value already picked. {@code keywordRows}
+     * narrows every count when a keyword search is active and may be {@code null}.
+     */
+    public Map<CatalogFacet, Map<String, Integer>> facetCounts(SneakerQueryParams params, BitSet keywordRows) {
+        Map<CatalogFacet, Map<String, Integer>> counts = new EnumMap<>(CatalogFacet.class);
+        for (CatalogFacet facet : CatalogFacet.values()) {
+            BitSet base = match(params, facet);
+            if (keywordRows != null) {
+                base.and(keywordRows);
+            }
+            Map<String, Integer> valueCounts = new LinkedHashMap<>();
+            labels.get(facet).forEach((key, label) -> {
+                BitSet rowsWithValue = (BitSet) facets.get(facet).get(key).clone();
+                rowsWithValue.and(base);
+                valueCounts.put(label, rowsWithValue.cardinality());
+            });
+            counts.put(facet, valueCounts);
+        }
+        return counts;
+    }
+
+    private BitSet match(SneakerQueryParams params, CatalogFacet excluded) {
+        BitSet matches = new BitSet(rows.length);
+        matches.set(0, rows.length);
+
+        if (excluded != CatalogFacet.BRAND) {
+            intersect(matches, CatalogFacet.BRAND, params.getBrand());
+        }
+        if (excluded != CatalogFacet.COLORWAY) {
+            intersect(matches, CatalogFacet.COLORWAY, params.getColorway());
+        }
+        if (excluded != CatalogFacet.CATEGORY) {
+            intersect(matches, CatalogFacet.CATEGORY, params.getCategory());
+        }
+        if (excluded != CatalogFacet.GENRE) {
+            intersect(matches, CatalogFacet.GENRE, params.getGenre());
+        }
+        if (params.getMinPrice() != null || params.getMaxPrice() != null) {
+            matches.and(priceRange(params.getMinPrice(), params.getMaxPrice()));
+        }
+        if (Boolean.TRUE.equals(params.getInStockOnly())) {
+            matches.and(inStock);
+        }
+        if (params.getSize() != null && !params.getSize().isBlank()) {
+            retainSize(matches, params.getSize().trim());
+        }
+        return matches;
+    }
+
+    /**
+     * Rows priced within {@code [min, max]}; sneakers without a price never match a bounded range.
+     * Both ends are found by binary search over the price ordering, so only the rows inside the
+     * range are visited.
+     */
+    private BitSet priceRange(BigDecimal min, BigDecimal max) {
+        int from = min != null ? firstPriceAbove(min, false) : firstPriceAbove(null, true);
+        int to = max != null ? firstPriceAbove(max, true) : sortedPrices.length;
+        BitSet result = new BitSet(rows.length);
+        for (int i = from; i < to; i++) {
+            result.set(byPrice[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Index of the first price that is greater than {@code bound} (or, when {@code inclusive} is
+     * {@code false}, greater than or equal to it). A {@code null} bound stands for the missing
+     * prices, which sort first.
+     */
+    private int firstPriceAbove(BigDecimal bound, boolean inclusive) {
+        int low = 0;
+        int high = sortedPrices.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            BigDecimal price = sortedPrices[mid];
+            int cmp = price == null
+                    ? (bound == null ? 0 : -1)
+                    : (bound == null ? 1 : price.compareTo(bound));
+            if (cmp < 0 || (inclusive && cmp == 0)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void retainSize(BitSet matches, String size) {
+        int bit = SizeMask.bit(size);
+        long wanted = bit >= 0 ? 1L << bit : 0L;
+        for (int row = matches.nextSetBit(0); row >= 0; row = matches.nextSetBit(row + 1)) {
+            boolean available = bit >= 0
+                    ? (sizeMasks[row] & wanted) != 0
+                    : rows[row].getAvailableSizes().contains(size);
+            if (!available) {
+                matches.clear(row);
+            }
+        }
+    }
+
+    /**
+     * Rows holding the given sneaker ids; ids not present in this snapshot are ignored.
+     */
+    public BitSet rowsOf(Collection<Long> sneakerIds) {
+        BitSet result = new BitSet(rows.length);
+        for (Long id : sneakerIds) {
+            Integer row = rowById.get(id);
+            if (row != null) {
+                result.set(row);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Rows in {@code matches} ordered by descending relevance score, falling back to name order.
+     */
+    public List<Sneaker> rank(BitSet matches, Map<Long, Integer> scores) {
+        List<Sneaker> result = select(matches, new CatalogSort(CatalogSort.Field.NAME, false));
+        result.sort(Comparator.comparing((Sneaker sneaker) -> scores.getOrDefault(sneaker.getId(), 0)).reversed());
+        return result;
+    }
+
+    /**
+     * Rows in {@code matches}, ordered by {@code sort}.
+     */
+    public List<Sneaker> select(BitSet matches, CatalogSort sort) {
+        int[] order = orderFor(sort.field());
+        List<Sneaker> result = new ArrayList<>(matches.cardinality());
+        for (int i = 0; i < order.length; i++) {
+            int row = order[sort.descending() ? order.length - 1 - i : i];
+            if (matches.get(row)) {
+                result.add(rows[row]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Up to {@code limit} rows from {@code matches} that sort strictly after {@code after} (or from
+     * the start when {@code after} is {@code null}). The starting point is located by binary search
+     * over the precomputed ordering, so the cost does not grow with how deep the page is.
+     */
+    public List<Sneaker> page(BitSet matches, CatalogSort sort, CatalogCursor after, int limit) {
+        int[] order = orderFor(sort.field());
+        List<Sneaker> result = new ArrayList<>(Math.min(limit, order.length));
+        if (sort.descending()) {
+            int start = after == null ? order.length - 1 : firstAtOrAfter(order, after) - 1;
+            for (int i = start; i >= 0 && result.size() < limit; i--) {
+                if (matches.get(order[i])) {
+                    result.add(rows[order[i]]);
+                }
+            }
+        } else {
+            int start = 0;
+            if (after != null) {
+                start = firstAtOrAfter(order, after);
+                if (start < order.length && CatalogSort.compareToCursor(rows[order[start]], after) == 0) {
+                    start++;
+                }
+            }
+            for (int i = start; i < order.length && result.size() < limit; i++) {
+                if (matches.get(order[i])) {
+                    result.add(rows[order[i]]);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void intersect(BitSet matches, CatalogFacet facet, String value) {
+        String key = CatalogFacet.key(value);
+        if (key == null) {
+            return;
+        }
+        BitSet rowsWithValue = facets.get(facet).get(key);
+        if (rowsWithValue == null) {
+            matches.clear();
+        } else {
+            matches.and(rowsWithValue);
+        }
+    }
+
+    /**
+     * Index of the first position in {@code order} whose row does not sort before the cursor.
+     */
+    private int firstAtOrAfter(int[] order, CatalogCursor cursor) {
+        int low = 0;
+        int high = order.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (CatalogSort.compareToCursor(rows[order[mid]], cursor) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int[] orderFor(CatalogSort.Field field) {
+        return field == CatalogSort.Field.PRICE ? byPrice : byName;
+    }
+
+    private int[] order(Comparator<Sneaker> comparator) {
+        Integer[] boxed = new Integer[rows.length];
+        for (int row = 0; row < rows.length; row++) {
+            boxed[row] = row;
+        }
+        Arrays.sort(boxed, (left, right) -> comparator.compare(rows[left], rows[right]));
+        int[] order = new int[rows.length];
+        for (int i = 0; i < boxed.length; i++) {
+            order[i] = boxed[i];
+        }
+        return order;
+    }
+}
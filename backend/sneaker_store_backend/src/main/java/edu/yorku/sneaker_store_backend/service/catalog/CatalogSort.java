@@ -0,0 +1,56 @@
+package edu.yorku.sneaker_store_backend.service.catalog;
+
+import edu.yorku.sneaker_store_backend.model.Sneaker;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+
+/**
+ * Ordering supported by the storefront catalog. Every ordering breaks ties on id so the sequence
+ * is total, which is what keyset cursors rely on.
+ */
+public record CatalogSort(Field field, boolean descending) {
+
+    public enum Field {
+        NAME,
+        PRICE
+    }
+
+    private static final Comparator<String> NAME_ORDER =
+            Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER.thenComparing(Comparator.naturalOrder()));
+
+    private static final Comparator<BigDecimal> PRICE_ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    /**
+     * Mirrors the legacy {@code sortBy}/{@code direction} query parameters: anything other than
+     * {@code price} sorts by name, and only {@code desc} reverses the order.
+     */
+    public static CatalogSort resolve(String sortBy, String direction) {
+        if (sortBy == null || sortBy.isBlank()) {
+            return new CatalogSort(Field.NAME, false);
+        }
+        boolean descending = "desc".equalsIgnoreCase(direction);
+        Field field = "price".equalsIgnoreCase(sortBy) ? Field.PRICE : Field.NAME;
+        return new CatalogSort(field, descending);
+    }
+
+    /**
+     * Ascending comparator for the sort field (direction is applied by walking the order backwards).
+     */
+    static Comparator<Sneaker> ascending(Field field) {
+        Comparator<Sneaker> byKey = field == Field.PRICE
+                ? Comparator.comparing(Sneaker::getPrice, PRICE_ORDER)
+                : Comparator.comparing(Sneaker::getName, NAME_ORDER);
+        return byKey.thenComparing(Sneaker::getId);
+    }
+
+    /**
+     * Compares a row against a cursor position using the same ascending order as {@link #ascending(Field)}.
+     */
+    static int compareToCursor(Sneaker row, CatalogCursor cursor) {
+        int cmp = cursor.field() == Field.PRICE
+                ? PRICE_ORDER.compare(row.getPrice(), (BigDecimal) cursor.value())
+                : NAME_ORDER.compare(row.getName(), (String) cursor.value());
+        return cmp != 0 ? cmp : Long.compare(row.getId(), cursor.id());
+    }
+}
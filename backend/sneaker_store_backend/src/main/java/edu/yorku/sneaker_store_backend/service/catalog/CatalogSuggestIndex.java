@@ -0,0 +1,271 @@
+package edu.yorku.sneaker_store_backend.service.catalog;
+
+import edu.yorku.sneaker_store_backend.model.Sneaker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prefix trie over sneaker names, brands and colorways used for search-box typeahead.
+ * <p>
+ * Every phrase is inserted once per word it contains, so "jor" completes "Air Jordan 1" as well as
+ * "Jordan". A phrase's weight is the number of catalog sneakers carrying it. Each trie node keeps its
+ * own top completions precomputed, so a lookup is a walk down the prefix followed by a copy of that
+ * node's list. Adding or removing a sneaker only recomputes the nodes on the paths of its phrases.
+ */
+public class CatalogSuggestIndex {
+
+    /** Completions kept per node, and therefore the largest limit a lookup can ask for. */
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private static final Comparator<Phrase> BY_WEIGHT = Comparator.comparingInt(Phrase::weight).reversed()
+            .thenComparing(Phrase::label, String.CASE_INSENSITIVE_ORDER);
+
+    private Node root = new Node();
+    private final Map<String, Phrase> phrases = new HashMap<>();
+    private final Map<Long, Set<String>> phrasesBySneaker = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Replaces the whole trie with the phrases of {@code sneakers}.
+     */
+    public void rebuild(Collection<Sneaker> sneakers) {
+        lock.writeLock().lock();
+        try {
+            root = new Node();
+            phrases.clear();
+            phrasesBySneaker.clear();
+            sneakers.forEach(this::addLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a sneaker, replacing whatever was indexed for its id before.
+     */
+    public void index(Sneaker sneaker) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(sneaker.getId());
+            addLocked(sneaker);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long sneakerId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(sneakerId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} phrases starting with {@code prefix} at a word boundary, most common first.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        if (!Character.isLetterOrDigit(prefix.charAt(prefix.length() - 1))) {
+            key += ' ';
+        }
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            List<String> result = new ArrayList<>(Math.min(limit, node.top.length));
+            for (int i = 0; i < node.top.length && result.size() < limit; i++) {
+                result.add(node.top[i].label());
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addLocked(Sneaker sneaker) {
+        Map<String, String> labels = new LinkedHashMap<>();
+        for (String text : List.of(nullToEmpty(sneaker.getName()), nullToEmpty(sneaker.getBrand()),
+                nullToEmpty(sneaker.getColorway()))) {
+            String key = normalize(text);
+            if (!key.isEmpty()) {
+                labels.putIfAbsent(key, text.trim());
+            }
+        }
+        labels.forEach((key, label) -> {
+            Phrase current = phrases.get(key);
+            adjust(key, current != null ? current.label() : label, 1);
+        });
+        phrasesBySneaker.put(sneaker.getId(), new LinkedHashSet<>(labels.keySet()));
+    }
+
+    private void removeLocked(Long sneakerId) {
+        Set<String> keys = phrasesBySneaker.remove(sneakerId);
+        if (keys == null) {
+            return;
+        }
+        for (String key : keys) {
+            Phrase current = phrases.get(key);
+            if (current != null) {
+                adjust(key, current.label(), -1);
+            }
+        }
+    }
+
+    /**
+     * Changes the weight of one phrase and refreshes every path it is stored under.
+     */
+    private void adjust(String key, String label, int delta) {
+        Phrase current = phrases.get(key);
+        int weight = (current != null ? current.weight() : 0) + delta;
+        Phrase updated = weight > 0 ? new Phrase(key, label, weight) : null;
+        if (updated != null) {
+            phrases.put(key, updated);
+        } else {
+            phrases.remove(key);
+        }
+        for (int start = 0; start < key.length(); start++) {
+            if (start == 0 || key.charAt(start - 1) == ' ') {
+                update(root, key.substring(start), 0, key, updated);
+            }
+        }
+    }
+
+    private void update(Node node, String path, int depth, String key, Phrase phrase) {
+        if (depth == path.length()) {
+            node.setPhrase(key, phrase);
+        } else {
+            char c = path.charAt(depth);
+            Node child = node.child(c);
+            if (child == null) {
+                if (phrase == null) {
+                    return;
+                }
+                child = node.addChild(c);
+            }
+            update(child, path, depth + 1, key, phrase);
+            if (child.isEmpty()) {
+                node.removeChild(c);
+            }
+        }
+        node.refreshTop();
+    }
+
+    /**
+     * Lower-cases {@code text} and joins its words with single spaces.
+     */
+    static String normalize(String text) {
+        return String.join(" ", CatalogSearchIndex.tokenize(text));
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    private record Phrase(String key, String label, int weight) {
+    }
+
+    /**
+     * Trie node with children stored in parallel arrays sorted by character.
+     */
+    private static final class Node {
+
+        private static final Phrase[] EMPTY = new Phrase[0];
+
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        private int childCount;
+        private Map<String, Phrase> phrases;
+        private Phrase[] top = EMPTY;
+
+        Node child(char c) {
+            int index = Arrays.binarySearch(labels, 0, childCount, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node addChild(char c) {
+            int index = -Arrays.binarySearch(labels, 0, childCount, c) - 1;
+            if (childCount == labels.length) {
+                int capacity = Math.max(2, childCount * 2);
+                labels = Arrays.copyOf(labels, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(labels, index, labels, index + 1, childCount - index);
+            System.arraycopy(children, index, children, index + 1, childCount - index);
+            Node child = new Node();
+            labels[index] = c;
+            children[index] = child;
+            childCount++;
+            return child;
+        }
+
+        void removeChild(char c) {
+            int index = Arrays.binarySearch(labels, 0, childCount, c);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(labels, index + 1, labels, index, childCount - index - 1);
+            System.arraycopy(children, index + 1, children, index, childCount - index - 1);
+            childCount--;
+            children[childCount] = null;
+        }
+
+        void setPhrase(String key, Phrase phrase) {
+            if (phrase != null) {
+                if (phrases == null) {
+                    phrases = new HashMap<>(2);
+                }
+                phrases.put(key, phrase);
+            } else if (phrases != null) {
+                phrases.remove(key);
+                if (phrases.isEmpty()) {
+                    phrases = null;
+                }
+            }
+        }
+
+        boolean isEmpty() {
+            return childCount == 0 && phrases == null;
+        }
+
+        /**
+         * Merges this node's own phrases with the precomputed lists of its children. The same phrase
+         * can reach a node through several word starts, so entries are de-duplicated by key.
+         */
+        void refreshTop() {
+            Map<String, Phrase> candidates = new HashMap<>();
+            if (phrases != null) {
+                candidates.putAll(phrases);
+            }
+            for (int i = 0; i < childCount; i++) {
+                for (Phrase phrase : children[i].top) {
+                    candidates.putIfAbsent(phrase.key(), phrase);
+                }
+            }
+            top = candidates.values().stream()
+                    .sorted(BY_WEIGHT)
+                    .limit(MAX_SUGGESTIONS)
+                    .toArray(Phrase[]::new);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package edu.yorku.sneaker_store_backend.service.catalog;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+
+/**
+ * Packs a sneaker's available sizes into one {@code long}: bit {@code n} stands for size
+ * {@code 3 + n / 2}, so whole and half sizes from 3 to 34.5 each get a bit.
+ */
+final class SizeMask {
+
+    private static final int MIN_HALF_SIZES = 6;
+    private static final int BITS = Long.SIZE;
+
+    private SizeMask() {
+    }
+
+    static long of(Collection<String> sizes) {
+        long mask = 0L;
+        if (sizes == null) {
+            return mask;
+        }
+        for (String size : sizes) {
+            int bit = bit(size);
+            if (bit >= 0) {
+                mask |= 1L << bit;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Bit index for {@code size}, or {@code -1} when it is not a whole/half size in range.
+     */
+    static int bit(String size) {
+        if (size == null || size.isBlank()) {
+            return -1;
+        }
+        try {
+            BigDecimal halfSizes = new BigDecimal(size.trim()).multiply(BigDecimal.valueOf(2));
+            if (halfSizes.stripTrailingZeros().scale() > 0) {
+                return -1;
+            }
+            int bit = halfSizes.intValueExact() - MIN_HALF_SIZES;
+            return bit >= 0 && bit < BITS ? bit : -1;
+        } catch (NumberFormatException | ArithmeticException ex) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package edu.yorku.sneaker_store_backend.service.checkout;
+
+import edu.yorku.sneaker_store_backend.dto.CheckoutRequestDto;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Latency of checkout and of each of its phases, published as {@code checkout.duration} and
+ * {@code checkout.phase} (tags {@code phase}, {@code items} and {@code outcome}); see
+ * {@code /actuator/metrics/checkout.phase?tag=phase:stock}.
+ * <p>
+ * Each phase costs two {@link System#nanoTime()} calls while the checkout runs. The timers are
+ * recorded once at the end, when the outcome is known, and are looked up in a preallocated table
+ * instead of the registry. Item counts are bucketed so the number of series stays small. With
+ * {@code app.checkout.metrics.histograms} on, the timers also publish p50/p95/p99 and percentile
+ * histogram buckets. With group commit on, {@code checkout.group_commit.size} (tag {@code step})
+ * shows how many checkouts shared each transaction.
+ */
+@Component
+public class CheckoutMetrics {
+
+    /**
+     * Where a checkout spends its time, in the order the phases run.
+     */
+    public enum Phase {
+        /** Queued on the admission partition until the reservation starts. */
+        ADMISSION,
+        /** The whole reservation transaction: the three phases below plus begin, commit and, with
+         *  group commit, the wait for the rest of the group. */
+        RESERVE,
+        /** Loading the customer and every line's product. */
+        RESOLVE,
+        /** Locking and decrementing stock, or reserving hot SKUs. */
+        STOCK,
+        /** Saving the order and its items. */
+        SAVE,
+        /** Waiting for the payment provider. */
+        AUTHORIZE,
+        /** Marking the order paid and enqueueing its side effects. */
+        CONFIRM,
+        /** Cancelling the order and returning its stock. */
+        COMPENSATE
+    }
+
+    /**
+     * How a checkout ended.
+     */
+    public enum Outcome {
+        SUCCESS,
+        INVALID,
+        REJECTED,
+        DECLINED,
+        THROTTLED,
+        PAYMENT_UNAVAILABLE,
+        ERROR
+    }
+
+    private static final String[] ITEM_BUCKETS = {"0", "1", "2-3", "4-9", "10+"};
+
+    private final MeterRegistry meterRegistry;
+    private final boolean histograms;
+    private final Timer[][][] phaseTimers = new Timer[Phase.values().length][ITEM_BUCKETS.length][Outcome.values().length];
+    private final Timer[][] durationTimers = new Timer[ITEM_BUCKETS.length][Outcome.values().length];
+
+    public CheckoutMetrics(MeterRegistry meterRegistry,
+                           @Value("${app.checkout.metrics.histograms:true}") boolean histograms) {
+        this.meterRegistry = meterRegistry;
+        this.histograms = histograms;
+    }
+
+    /**
+     * Starts timing one checkout.
+     */
+    public Timing start(CheckoutRequestDto request) {
+        int items = request.getItems() == null ? 0 : request.getItems().size();
+        return new Timing(bucketOf(items));
+    }
+
+    /**
+     * Records every phase that ran and the total duration, tagged with the checkout's outcome.
+     */
+    public void record(Timing timing) {
+        Outcome outcome = timing.outcome != null ? timing.outcome : Outcome.ERROR;
+        for (Phase phase : Phase.values()) {
+            long nanos = timing.phaseNanos[phase.ordinal()];
+            if (nanos >= 0) {
+                phaseTimer(phase, timing.bucket, outcome).record(nanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        durationTimer(timing.bucket, outcome).record(System.nanoTime() - timing.startedAt, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records how many checkouts one group commit covered; {@code step} is {@link Phase#RESERVE} or
+     * {@link Phase#CONFIRM}.
+     */
+    public void recordGroup(Phase step, int size) {
+        DistributionSummary.builder("checkout.group_commit.size")
+                .description("Checkouts committed together in one transaction")
+                .tag("step", step.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry)
+                .record(size);
+    }
+
+    static int bucketOf(int items) {
+        if (items <= 1) {
+            return Math.max(items, 0);
+        }
+        if (items <= 3) {
+            return 2;
+        }
+        return items <= 9 ? 3 : 4;
+    }
+
+    private Timer phaseTimer(Phase phase, int bucket, Outcome outcome) {
+        Timer timer = phaseTimers[phase.ordinal()][bucket][outcome.ordinal()];
+        if (timer == null) {
+            timer = configure(Timer.builder("checkout.phase")
+                    .description("Time spent in one phase of checkout")
+                    .tag("phase", phase.name().toLowerCase(Locale.ROOT)), bucket, outcome);
+            phaseTimers[phase.ordinal()][bucket][outcome.ordinal()] = timer;
+        }
+        return timer;
+    }
+
+    private Timer durationTimer(int bucket, Outcome outcome) {
+        Timer timer = durationTimers[bucket][outcome.ordinal()];
+        if (timer == null) {
+            timer = configure(Timer.builder("checkout.duration")
+                    .description("End-to-end checkout time"), bucket, outcome);
+            durationTimers[bucket][outcome.ordinal()] = timer;
+        }
+        return timer;
+    }
+
+    /**
+     * Registering the same meter twice returns the existing one, so a race on the lazily filled table
+     * is harmless.
+     */
+    private Timer configure(Timer.Builder builder, int bucket, Outcome outcome) {
+        builder.tag("items", ITEM_BUCKETS[bucket])
+                .tag("outcome", outcome.name().toLowerCase(Locale.ROOT));
+        if (histograms) {
+            builder.publishPercentiles(0.5, 0.95, 0.99).publishPercentileHistogram();
+        }
+        return builder.register(meterRegistry);
+    }
+
+    /**
+     * Phase durations of one checkout. Phases may run on different threads (the reservation runs on
+     * an admission partition), but never at the same time.
+     */
+    public static final class Timing {
+
+        private final int bucket;
+        private final long startedAt = System.nanoTime();
+        private final long[] phaseNanos = new long[Phase.values().length];
+        private Outcome outcome;
+
+        private Timing(int bucket) {
+            this.bucket = bucket;
+            Arrays.fill(phaseNanos, -1);
+        }
+
+        /**
+         * Runs {@code work} and adds its duration to {@code phase}.
+         */
+        public <T> T time(Phase phase, Supplier<T> work) {
+            long began = System.nanoTime();
+            try {
+                return work.get();
+            } finally {
+                add(phase, System.nanoTime() - began);
+            }
+        }
+
+        /**
+         * Runs {@code work} and adds its duration to {@code phase}.
+         */
+        public void run(Phase phase, Runnable work) {
+            long began = System.nanoTime();
+            try {
+                work.run();
+            } finally {
+                add(phase, System.nanoTime() - began);
+            }
+        }
+
+        /**
+         * Adds {@code nanos} to {@code phase}, for phases that do not wrap a single call.
+         */
+        public void add(Phase phase, long nanos) {
+            long current = phaseNanos[phase.ordinal()];
+            phaseNanos[phase.ordinal()] = (current < 0 ? 0 : current) + nanos;
+        }
+
+        /**
+         * Sets the outcome unless one has already been set.
+         */
+        public void outcome(Outcome outcome) {
+            if (this.outcome == null) {
+                this.outcome = outcome;
+            }
+        }
+    }
+}
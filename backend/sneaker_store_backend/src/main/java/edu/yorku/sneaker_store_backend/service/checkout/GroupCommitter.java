@@ -0,0 +1,162 @@
+package edu.yorku.sneaker_store_backend.service.checkout;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Collects work submitted by concurrent callers and hands it to {@code handler} in groups, so a
+ * group can share one transaction and one commit.
+ * <p>
+ * A single flusher thread takes the first waiting item, gathers whatever else arrives within
+ * {@code window} (up to {@code maxBatch} items), runs the handler and wakes the callers. Groups are
+ * handled one at a time; the next one forms while the current one commits. The handler returns one
+ * {@link Result} per item, in order, so one failed item does not fail the others.
+ */
+public class GroupCommitter<I, O> {
+
+    private static final long IDLE_POLL_MS = 100;
+
+    private final BlockingQueue<Pending<I, O>> queue = new LinkedBlockingQueue<>();
+    private final Function<List<I>, List<Result<O>>> handler;
+    private final int maxBatch;
+    private final long windowNanos;
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    public GroupCommitter(String name, int maxBatch, Duration window, Function<List<I>, List<Result<O>>> handler) {
+        if (maxBatch < 1) {
+            throw new IllegalArgumentException("maxBatch must be at least 1");
+        }
+        this.handler = handler;
+        this.maxBatch = maxBatch;
+        this.windowNanos = window.toNanos();
+        this.flusher = Thread.ofVirtual().name(name).start(this::flushLoop);
+    }
+
+    /**
+     * Queues {@code input} and waits until its group has been handled. The wait is not interruptible:
+     * once queued, the item may be committed, and the caller must learn the outcome.
+     */
+    public O submit(I input) {
+        if (!running) {
+            throw new IllegalStateException("Group commit is shutting down");
+        }
+        Pending<I, O> pending = new Pending<>(input, new CompletableFuture<>());
+        queue.add(pending);
+        // The flusher may have made its final drain between the check above and the add; if it has
+        // not taken the item, nobody will.
+        if (!running && queue.remove(pending)) {
+            throw new IllegalStateException("Group commit is shutting down");
+        }
+        try {
+            return pending.result().join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Handles what is already queued, then stops the flusher.
+     */
+    public void close() {
+        running = false;
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void flushLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending<I, O> first = queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<Pending<I, O>> group = new ArrayList<>();
+                group.add(first);
+                long deadline = System.nanoTime() + windowNanos;
+                while (group.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    Pending<I, O> next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                }
+                flush(group);
+            } catch (InterruptedException ex) {
+                running = false;
+            }
+        }
+        Pending<I, O> abandoned;
+        while ((abandoned = queue.poll()) != null) {
+            abandoned.result().completeExceptionally(new IllegalStateException("Group commit is shutting down"));
+        }
+    }
+
+    private void flush(List<Pending<I, O>> group) {
+        List<Result<O>> results;
+        try {
+            results = handler.apply(group.stream().map(Pending::input).toList());
+            if (results.size() != group.size()) {
+                throw new IllegalStateException("Group handler returned " + results.size() + " results for "
+                        + group.size() + " items");
+            }
+        } catch (RuntimeException | Error ex) {
+            group.forEach(pending -> pending.result().completeExceptionally(ex));
+            return;
+        }
+        for (int i = 0; i < group.size(); i++) {
+            Result<O> result = results.get(i);
+            if (result.error() != null) {
+                group.get(i).result().completeExceptionally(result.error());
+            } else {
+                group.get(i).result().complete(result.value());
+            }
+        }
+    }
+
+    /**
+     * Outcome of one item of a group: a value, or the exception its caller should see.
+     */
+    public record Result<O>(O value, RuntimeException error) {
+
+        public static <O> Result<O> of(O value) {
+            return new Result<>(value, null);
+        }
+
+        public static <O> Result<O> failed(RuntimeException error) {
+            return new Result<>(null, error);
+        }
+
+        /**
+         * Runs {@code work} and captures its value or exception.
+         */
+        public static <O> Result<O> attempt(Supplier<O> work) {
+            try {
+                return of(work.get());
+            } catch (RuntimeException ex) {
+                return failed(ex);
+            }
+        }
+    }
+
+    private record Pending<I, O>(I input, CompletableFuture<O> result) {
+    }
+}
@@ -16,6 +16,7 @@ public class OrderQueryParams {
     LocalDate dateTo;
 
     public enum OrderStatus {
+        AWAITING_PAYMENT,
         PENDING,
         PAID,
         SHIPPED,
@@ -3,6 +3,9 @@ package edu.yorku.sneaker_store_backend.service.dto;
 import lombok.Builder;
 import lombok.Value;
 
+import java.math.BigDecimal;
+import java.util.Locale;
+
 @Value
 @Builder
 public class SneakerQueryParams {
@@ -12,6 +15,78 @@ public class SneakerQueryParams {
     String colorway;
     String category;
     String genre;
+
+    /**
+     * Shoe size the sneaker must be available in, e.g. {@code "10.5"}.
+     */
+    String size;
+
+    /**
+     * Inclusive price bounds; either may be {@code null} for an open-ended range.
+     */
+    BigDecimal minPrice;
+    BigDecimal maxPrice;
+
+    /**
+     * When {@code true}, only sneakers with stock left are returned.
+     */
+    Boolean inStockOnly;
     String sortBy;
     String sortDirection;
+
+    /**
+     * Maximum number of rows to return. When {@code null} the whole filtered catalog is returned.
+     */
+    Integer limit;
+
+    /**
+     * Opaque keyset cursor returned as {@code nextCursor} by the previous page.
+     */
+    String after;
+
+    public boolean isPaged() {
+        return limit != null || (after != null && !after.isBlank());
+    }
+
+    /**
+     * Canonical form of these parameters for response caching: filter values are trimmed and
+     * lower-cased (matching is case-insensitive) so equivalent queries share one entry. The cursor
+     * is opaque and kept verbatim. Each value is its own record component, so no combination of
+     * values can produce another query's key.
+     */
+    public CacheKey cacheKey() {
+        return new CacheKey(
+                normalize(keyword),
+                normalize(brand),
+                normalize(colorway),
+                normalize(category),
+                normalize(genre),
+                normalize(size),
+                minPrice != null ? minPrice.stripTrailingZeros().toPlainString() : "",
+                maxPrice != null ? maxPrice.stripTrailingZeros().toPlainString() : "",
+                Boolean.TRUE.equals(inStockOnly),
+                normalize(sortBy),
+                normalize(sortDirection),
+                limit,
+                after != null ? after.trim() : "");
+    }
+
+    private static String normalize(String value) {
+        return value != null ? value.trim().toLowerCase(Locale.ROOT) : "";
+    }
+
+    public record CacheKey(String keyword,
+                           String brand,
+                           String colorway,
+                           String category,
+                           String genre,
+                           String size,
+                           String minPrice,
+                           String maxPrice,
+                           boolean inStockOnly,
+                           String sortBy,
+                           String sortDirection,
+                           Integer limit,
+                           String after) {
+    }
 }
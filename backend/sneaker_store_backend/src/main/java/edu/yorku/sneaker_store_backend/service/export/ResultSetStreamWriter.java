@@ -0,0 +1,159 @@
+package edu.yorku.sneaker_store_backend.service.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * Writes every row of a {@code JdbcTemplate} query straight to an output stream, one NDJSON object
+ * or CSV record per row. Nothing is buffered beyond the current row, so memory use does not depend on
+ * how many rows the query returns. Field names are the column labels of the query; SQL arrays become
+ * JSON arrays, or {@code |}-separated values in CSV.
+ */
+public final class ResultSetStreamWriter implements ResultSetExtractor<Long> {
+
+    private final ExportFormat format;
+    private final JsonGenerator json;
+    private final Writer csv;
+
+    public ResultSetStreamWriter(ExportFormat format, OutputStream out, JsonFactory jsonFactory) {
+        this.format = format;
+        try {
+            if (format == ExportFormat.NDJSON) {
+                this.json = jsonFactory.createGenerator(out)
+                        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                this.json.setRootValueSeparator(null);
+                this.csv = null;
+            } else {
+                this.json = null;
+                this.csv = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Streams every row of {@code rs} and returns how many were written.
+     */
+    @Override
+    public Long extractData(ResultSet rs) throws SQLException {
+        String[] columns = labels(rs.getMetaData());
+        long rows = 0;
+        try {
+            if (format == ExportFormat.CSV) {
+                writeCsvRecord(columns);
+            }
+            while (rs.next()) {
+                if (format == ExportFormat.NDJSON) {
+                    writeJsonRow(rs, columns);
+                } else {
+                    String[] values = new String[columns.length];
+                    for (int i = 0; i < columns.length; i++) {
+                        values[i] = csvValue(rs.getObject(i + 1));
+                    }
+                    writeCsvRecord(values);
+                }
+                rows++;
+            }
+            if (json != null) {
+                json.flush();
+            } else {
+                csv.flush();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return rows;
+    }
+
+    private void writeJsonRow(ResultSet rs, String[] columns) throws IOException, SQLException {
+        json.writeStartObject();
+        for (int i = 0; i < columns.length; i++) {
+            json.writeFieldName(columns[i]);
+            Object value = rs.getObject(i + 1);
+            if (value == null) {
+                json.writeNull();
+            } else if (value instanceof BigDecimal decimal) {
+                json.writeNumber(decimal);
+            } else if (value instanceof Integer number) {
+                json.writeNumber(number);
+            } else if (value instanceof Long number) {
+                json.writeNumber(number);
+            } else if (value instanceof Array array) {
+                json.writeStartArray();
+                for (Object element : (Object[]) array.getArray()) {
+                    json.writeString(String.valueOf(element));
+                }
+                json.writeEndArray();
+            } else {
+                json.writeString(value.toString());
+            }
+        }
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private void writeCsvRecord(String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                csv.write(',');
+            }
+            csv.write(values[i]);
+        }
+        csv.write("\r\n");
+    }
+
+    private static String csvValue(Object value) throws SQLException {
+        if (value == null) {
+            return "";
+        }
+        String text;
+        if (value instanceof Array array) {
+            Object[] elements = (Object[]) array.getArray();
+            StringBuilder joined = new StringBuilder();
+            for (int i = 0; i < elements.length; i++) {
+                if (i > 0) {
+                    joined.append('|');
+                }
+                joined.append(elements[i]);
+            }
+            text = joined.toString();
+        } else if (value instanceof BigDecimal decimal) {
+            text = decimal.toPlainString();
+        } else {
+            text = value.toString();
+        }
+        return escapeCsv(text);
+    }
+
+    private static String escapeCsv(String text) {
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        return quote ? '"' + text.replace("\"", "\"\"") + '"' : text;
+    }
+
+    private static String[] labels(ResultSetMetaData metaData) throws SQLException {
+        String[] labels = new String[metaData.getColumnCount()];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = metaData.getColumnLabel(i + 1);
+        }
+        return labels;
+    }
+}
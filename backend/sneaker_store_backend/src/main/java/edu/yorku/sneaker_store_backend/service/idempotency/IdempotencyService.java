@@ -0,0 +1,287 @@
+package edu.yorku.sneaker_store_backend.service.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a request at most once per {@code Idempotency-Key} and replays its response to retries.
+ * <p>
+ * The key is claimed in {@code idempotency_keys} in a short transaction of its own, the work then
+ * runs with no transaction open, and its response is recorded in a second short transaction. No
+ * transaction is held across the work, so a checkout never keeps one open while the payment
+ * provider is called; the work commits its own steps and cleans up after its own failures.
+ * Successful and client error (4xx) responses are recorded and replayed; server errors release the
+ * key so the client can retry.
+ * <p>
+ * If the response cannot be recorded the work has still happened, so the key is kept claimed
+ * rather than released: duplicates get "still processing" instead of running a paid checkout a
+ * second time, until the lease passes.
+ * <p>
+ * Duplicates that arrive while the first request is still running wait for it. On this instance
+ * they wait on an in-memory future without touching the database; duplicates on other instances
+ * poll the stored row. Reusing a key with a different request body is rejected. Claims left behind
+ * by a crashed instance can be taken over once their lease has passed.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long POLL_INTERVAL_MS = 50;
+
+    private static final String CLAIM_SQL = """
+            INSERT INTO idempotency_keys (idempotency_key, request_hash, status, locked_until, expires_at)
+            VALUES (?, ?, 'IN_PROGRESS',
+                    CURRENT_TIMESTAMP + make_interval(secs => ?),
+                    CURRENT_TIMESTAMP + make_interval(secs => ?))
+            ON CONFLICT (idempotency_key) DO UPDATE
+            SET request_hash = EXCLUDED.request_hash,
+                status = 'IN_PROGRESS',
+                response_status = NULL,
+                response_body = NULL,
+                locked_until = EXCLUDED.locked_until,
+                created_at = CURRENT_TIMESTAMP,
+                expires_at = EXCLUDED.expires_at
+            WHERE idempotency_keys.expires_at < CURRENT_TIMESTAMP
+               OR (idempotency_keys.status = 'IN_PROGRESS'
+                   AND idempotency_keys.locked_until < CURRENT_TIMESTAMP
+                   AND idempotency_keys.request_hash = EXCLUDED.request_hash)
+            """;
+
+    private static final String LOOKUP_SQL = """
+            SELECT request_hash, status, response_status, response_body
+            FROM idempotency_keys
+            WHERE idempotency_key = ? AND expires_at >= CURRENT_TIMESTAMP
+            """;
+
+    private static final String COMPLETE_SQL = """
+            UPDATE idempotency_keys
+            SET status = 'COMPLETED', response_status = ?, response_body = ?, locked_until = NULL
+            WHERE idempotency_key = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaction;
+    private final Duration ttl;
+    private final Duration lease;
+    private final Duration waitTimeout;
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(JdbcTemplate jdbcTemplate,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.idempotency.ttl:PT24H}") Duration ttl,
+                              @Value("${app.idempotency.lease:PT1M}") Duration lease,
+                              @Value("${app.idempotency.wait-timeout:PT10S}") Duration waitTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.ttl = ttl;
+        this.lease = lease;
+        this.waitTimeout = waitTimeout;
+    }
+
+    /**
+     * Runs {@code action} for the first request with {@code key} and replays its response to later
+     * ones. {@code action} is called with no transaction open and must commit, or undo, its own writes;
+     * its response is recorded once it returns.
+     *
+     * @throws IllegalArgumentException if the key is malformed or was used for a different request
+     * @throws IllegalStateException    if an earlier request with the key is still running after the
+     *                                  wait timeout
+     */
+    public <T> IdempotentResponse<T> execute(String key,
+                                             Object request,
+                                             Class<T> responseType,
+                                             Supplier<IdempotentResponse<T>> action) {
+        validate(key);
+        String fingerprint = fingerprint(request);
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+
+        while (true) {
+            CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(key, mine);
+            if (running != null) {
+                StoredResponse stored = await(running, deadline);
+                if (stored != null) {
+                    return replay(stored, fingerprint, responseType);
+                }
+                continue;
+            }
+
+            StoredResponse result = null;
+            try {
+                if (claim(key, fingerprint)) {
+                    IdempotentResponse<T> response = run(key, action);
+                    result = response.status() < 500 ? store(fingerprint, response) : null;
+                    return response;
+                }
+                StoredResponse stored = lookup(key);
+                if (stored == null) {
+                    continue;
+                }
+                if (stored.completed()) {
+                    result = stored;
+                    return replay(stored, fingerprint, responseType);
+                }
+                if (!stored.fingerprint().equals(fingerprint)) {
+                    throw mismatch();
+                }
+                if (System.nanoTime() > deadline) {
+                    throw stillRunning();
+                }
+            } finally {
+                inFlight.remove(key, mine);
+                mine.complete(result);
+            }
+            sleep(POLL_INTERVAL_MS);
+        }
+    }
+
+    /**
+     * Purges keys whose TTL has passed.
+     */
+    @Scheduled(fixedDelayString = "${app.idempotency.cleanup-interval-ms:600000}")
+    public void purgeExpired() {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at < CURRENT_TIMESTAMP");
+    }
+
+    private <T> IdempotentResponse<T> run(String key, Supplier<IdempotentResponse<T>> action) {
+        IdempotentResponse<T> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException ex) {
+            release(key);
+            throw ex;
+        }
+        if (response.status() >= 500) {
+            release(key);
+            return response;
+        }
+        String body = toJson(response.body());
+        try {
+            record(key, response.status(), body);
+        } catch (RuntimeException ex) {
+            // The work has already committed, so try once more before leaving the key claimed.
+            record(key, response.status(), body);
+        }
+        return response;
+    }
+
+    private void validate(String key) {
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    private boolean claim(String key, String fingerprint) {
+        Integer claimed = transaction.execute(status -> jdbcTemplate.update(CLAIM_SQL, key, fingerprint,
+                (double) lease.toSeconds(), (double) ttl.toSeconds()));
+        return claimed != null && claimed == 1;
+    }
+
+    private void record(String key, int status, String body) {
+        transaction.executeWithoutResult(tx -> jdbcTemplate.update(COMPLETE_SQL, status, body, key));
+    }
+
+    private StoredResponse lookup(String key) {
+        List<StoredResponse> rows = jdbcTemplate.query(LOOKUP_SQL, (rs, rowNum) -> new StoredResponse(
+                rs.getString("request_hash"),
+                "COMPLETED".equals(rs.getString("status")),
+                rs.getInt("response_status"),
+                rs.getString("response_body")), key);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private void release(String key) {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idempotency_key = ? AND status = 'IN_PROGRESS'", key);
+    }
+
+    private <T> IdempotentResponse<T> replay(StoredResponse stored, String fingerprint, Class<T> responseType) {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            throw mismatch();
+        }
+        try {
+            return new IdempotentResponse<>(stored.status(), objectMapper.readValue(stored.body(), responseType), true);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unable to read stored response", ex);
+        }
+    }
+
+    private <T> StoredResponse store(String fingerprint, IdempotentResponse<T> response) {
+        return new StoredResponse(fingerprint, true, response.status(), toJson(response.body()));
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running, long deadline) {
+        try {
+            return running.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            throw stillRunning();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw stillRunning();
+        } catch (ExecutionException ex) {
+            return null;
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(toJson(request).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unable to serialize idempotent request", ex);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw stillRunning();
+        }
+    }
+
+    private static IllegalArgumentException mismatch() {
+        return new IllegalArgumentException("Idempotency-Key was already used for a different request");
+    }
+
+    private static IllegalStateException stillRunning() {
+        return new IllegalStateException("A request with this Idempotency-Key is still being processed");
+    }
+
+    private record StoredResponse(String fingerprint, boolean completed, int status, String body) {
+    }
+}
@@ -0,0 +1,16 @@
+package edu.yorku.sneaker_store_backend.service.idempotency;
+
+/**
+ * Outcome of an idempotent request: the HTTP status and body to send, and whether it was replayed
+ * from an earlier execution instead of produced now.
+ */
+public record IdempotentResponse<T>(int status, T body, boolean replayed) {
+
+    public static <T> IdempotentResponse<T> of(int status, T body) {
+        return new IdempotentResponse<>(status, body, false);
+    }
+
+    boolean successful() {
+        return status >= 200 && status < 300;
+    }
+}
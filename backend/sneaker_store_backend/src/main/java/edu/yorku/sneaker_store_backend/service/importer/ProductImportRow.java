@@ -0,0 +1,16 @@
+package edu.yorku.sneaker_store_backend.service.importer;
+
+import java.math.BigDecimal;
+
+/**
+ * One validated product row of a bulk import.
+ */
+public record ProductImportRow(int line,
+                               String sku,
+                               String name,
+                               String brand,
+                               String description,
+                               BigDecimal price,
+                               int stockQuantity,
+                               String imageUrl) {
+}
@@ -0,0 +1,99 @@
+package edu.yorku.sneaker_store_backend.service.order;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.function.LongSupplier;
+
+/**
+ * Generates order numbers such as {@code ORD-0C8Z7K4M2X1QH}.
+ * <p>
+ * Each number is a Snowflake-style 63-bit id: 41 bits of milliseconds since 2025-01-01, a 10-bit
+ * node id and a 12-bit per-millisecond sequence. It is written as 13 Crockford base32 characters, so
+ * numbers sort in the order they were issued and new rows land on the right-hand edge of the
+ * {@code orders.order_number} index instead of on random pages. The node id comes from
+ * {@code order_number_node_seq} at startup unless {@code app.orders.node-id} pins it.
+ * <p>
+ * The clock is never allowed to run backwards: if the system clock steps back a little, ids keep
+ * counting from the last millisecond issued, and when a millisecond's 4096 sequence values run out
+ * the next millisecond is borrowed. A step back of more than {@link #MAX_CLOCK_DRIFT_MS} fails fast.
+ */
+@Component
+public class OrderNumberGenerator {
+
+    public static final String PREFIX = "ORD-";
+
+    static final long EPOCH_MILLIS = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+    static final int MAX_NODE_ID = (1 << 10) - 1;
+    static final long MAX_CLOCK_DRIFT_MS = 5_000;
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final int NODE_SHIFT = SEQUENCE_BITS;
+    private static final int TIMESTAMP_SHIFT = SEQUENCE_BITS + 10;
+    private static final int MAX_SEQUENCE = (1 << SEQUENCE_BITS) - 1;
+    private static final int ENCODED_LENGTH = 13;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private final long nodeId;
+    private final LongSupplier clock;
+    private long lastMillis;
+    private int sequence;
+
+    @Autowired
+    public OrderNumberGenerator(JdbcTemplate jdbcTemplate,
+                                @Value("${app.orders.node-id:-1}") int nodeId) {
+        this(nodeId >= 0 ? nodeId : jdbcTemplate.queryForObject("SELECT nextval('order_number_node_seq')", Long.class),
+                System::currentTimeMillis);
+    }
+
+    OrderNumberGenerator(long nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Order number node id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+        this.lastMillis = clock.getAsLong() - EPOCH_MILLIS - 1;
+    }
+
+    /**
+     * The next order number, e.g. {@code ORD-0C8Z7K4M2X1QH}.
+     */
+    public String next() {
+        return PREFIX + encode(nextId());
+    }
+
+    /**
+     * The next raw id; strictly increasing on this node.
+     */
+    public synchronized long nextId() {
+        long now = clock.getAsLong() - EPOCH_MILLIS;
+        if (now < lastMillis - MAX_CLOCK_DRIFT_MS) {
+            throw new IllegalStateException("System clock moved back by " + (lastMillis - now) + " ms");
+        }
+        if (now > lastMillis) {
+            lastMillis = now;
+            sequence = 0;
+        } else if (sequence < MAX_SEQUENCE) {
+            sequence++;
+        } else {
+            lastMillis++;
+            sequence = 0;
+        }
+        return (lastMillis << TIMESTAMP_SHIFT) | (nodeId << NODE_SHIFT) | sequence;
+    }
+
+    /**
+     * Fixed-width Crockford base32, so string order matches numeric order.
+     */
+    static String encode(long id) {
+        char[] chars = new char[ENCODED_LENGTH];
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+}
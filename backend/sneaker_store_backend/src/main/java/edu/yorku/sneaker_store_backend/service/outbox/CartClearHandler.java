@@ -0,0 +1,39 @@
+package edu.yorku.sneaker_store_backend.service.outbox;
+
+import edu.yorku.sneaker_store_backend.service.CartService;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Empties the carts of customers who have checked out.
+ */
+@Component
+public class CartClearHandler implements OutboxHandler<CartClearHandler.Clear> {
+
+    private final CartService cartService;
+
+    public CartClearHandler(CartService cartService) {
+        this.cartService = cartService;
+    }
+
+    @Override
+    public OutboxEventType type() {
+        return OutboxEventType.CART_CLEAR;
+    }
+
+    @Override
+    public Class<Clear> payloadType() {
+        return Clear.class;
+    }
+
+    @Override
+    public void handle(List<Clear> clears) {
+        new LinkedHashSet<>(clears.stream().map(Clear::customerId).toList())
+                .forEach(cartService::clearCart);
+    }
+
+    public record Clear(Long customerId) {
+    }
+}
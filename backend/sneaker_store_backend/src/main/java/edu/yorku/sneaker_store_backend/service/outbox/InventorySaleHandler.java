@@ -0,0 +1,60 @@
+package edu.yorku.sneaker_store_backend.service.outbox;
+
+import edu.yorku.sneaker_store_backend.model.InventoryEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Writes the SALE inventory events of completed checkouts, one JDBC batch per outbox batch. Each
+ * event keeps the time of the sale rather than the time it was applied.
+ */
+@Component
+public class InventorySaleHandler implements OutboxHandler<InventorySaleHandler.Sale> {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO inventory_events (product_id, type, event_time, quantity_delta, previous_stock,
+                                          new_stock, order_id, note)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public InventorySaleHandler(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public OutboxEventType type() {
+        return OutboxEventType.INVENTORY_SALE;
+    }
+
+    @Override
+    public Class<Sale> payloadType() {
+        return Sale.class;
+    }
+
+    @Override
+    public void handle(List<Sale> sales) {
+        if (sales.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(INSERT_SQL, sales, sales.size(), (ps, sale) -> {
+            ps.setLong(1, sale.productId());
+            ps.setString(2, InventoryEvent.EventType.SALE.name());
+            ps.setObject(3, sale.soldAt() != null ? sale.soldAt() : now);
+            ps.setInt(4, -Math.abs(sale.quantity()));
+            ps.setInt(5, sale.previousStock());
+            ps.setInt(6, sale.newStock());
+            ps.setObject(7, sale.orderId());
+            ps.setString(8, sale.orderId() != null ? "Order #" + sale.orderId() : null);
+        });
+    }
+
+    public record Sale(Long productId, int previousStock, int newStock, int quantity, Long orderId,
+                       LocalDateTime soldAt) {
+    }
+}
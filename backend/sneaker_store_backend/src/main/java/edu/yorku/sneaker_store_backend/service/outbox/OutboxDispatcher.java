@@ -0,0 +1,237 @@
+package edu.yorku.sneaker_store_backend.service.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies {@code outbox_events} written by committed transactions.
+ * <p>
+ * Each poll claims up to {@code app.outbox.batch-size} due events with {@code FOR UPDATE SKIP LOCKED}
+ * (so several instances can poll side by side), hands them to their {@link OutboxHandler} grouped by
+ * type, and deletes them, all in one transaction. If that batch fails, its events are retried one
+ * per transaction so a single bad event cannot hold back the rest. An event that fails is
+ * rescheduled with exponential backoff and marked DEAD after {@code app.outbox.max-attempts}; DEAD
+ * rows stay in the table with their last error for inspection, but their payload is cleared.
+ * <p>
+ * Metrics: {@code outbox.events} (by type and outcome), {@code outbox.lag} (enqueue to apply, by
+ * type), {@code outbox.batch} (poll duration) and the {@code outbox.backlog} gauge (by status).
+ */
+@Component
+public class OutboxDispatcher {
+
+    private static final String CLAIM_COLUMNS = """
+            SELECT id, type, payload, attempts,
+                   EXTRACT(EPOCH FROM (CURRENT_TIMESTAMP - created_at)) * 1000 AS lag_ms
+            FROM outbox_events
+            """;
+
+    private static final String CLAIM_BATCH_SQL = CLAIM_COLUMNS + """
+            WHERE status = 'PENDING' AND available_at <= CURRENT_TIMESTAMP
+            ORDER BY id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String CLAIM_ONE_SQL = CLAIM_COLUMNS + """
+            WHERE id = ? AND status = 'PENDING'
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String FAILURE_SQL = """
+            UPDATE outbox_events
+            SET attempts = ?, status = ?, last_error = ?,
+                payload = CASE WHEN ? THEN NULL ELSE payload END,
+                available_at = CURRENT_TIMESTAMP + make_interval(secs => ?)
+            WHERE id = ?
+            """;
+
+    private static final long MAX_BACKOFF_MILLIS = 3_600_000;
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaction;
+    private final Map<OutboxEventType, OutboxHandler<?>> handlers = new EnumMap<>(OutboxEventType.class);
+    private final MeterRegistry meterRegistry;
+    private final Timer batchTimer;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+
+    public OutboxDispatcher(JdbcTemplate jdbcTemplate,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager,
+                            List<OutboxHandler<?>> handlers,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.outbox.batch-size:200}") int batchSize,
+                            @Value("${app.outbox.max-attempts:10}") int maxAttempts,
+                            @Value("${app.outbox.retry-backoff:PT1S}") Duration retryBackoff) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        handlers.forEach(handler -> this.handlers.put(handler.type(), handler));
+        this.meterRegistry = meterRegistry;
+        this.batchTimer = Timer.builder("outbox.batch")
+                .description("Time to claim, apply and delete one batch of outbox events")
+                .register(meterRegistry);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        for (String status : List.of("PENDING", "DEAD")) {
+            Gauge.builder("outbox.backlog", () -> countByStatus(status))
+                    .description("Outbox events waiting to be applied or given up on")
+                    .tag("status", status)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Drains every due event, one batch per transaction.
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:200}")
+    public void dispatch() {
+        int claimed;
+        do {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            claimed = dispatchBatch();
+            sample.stop(batchTimer);
+        } while (claimed == batchSize);
+    }
+
+    private int dispatchBatch() {
+        List<ClaimedEvent> claimed = new ArrayList<>();
+        try {
+            transaction.executeWithoutResult(status -> {
+                claimed.addAll(jdbcTemplate.query(CLAIM_BATCH_SQL, this::mapEvent, batchSize));
+                apply(claimed);
+            });
+        } catch (RuntimeException ex) {
+            claimed.forEach(event -> dispatchOne(event.id()));
+            return claimed.size();
+        }
+        claimed.forEach(this::recordApplied);
+        return claimed.size();
+    }
+
+    private void dispatchOne(long id) {
+        List<ClaimedEvent> claimed = new ArrayList<>(1);
+        try {
+            transaction.executeWithoutResult(status -> {
+                claimed.addAll(jdbcTemplate.query(CLAIM_ONE_SQL, this::mapEvent, id));
+                apply(claimed);
+            });
+            claimed.forEach(this::recordApplied);
+        } catch (RuntimeException ex) {
+            claimed.forEach(event -> recordFailure(event, ex));
+        }
+    }
+
+    /**
+     * Runs the handlers for {@code events} and deletes them, in the caller's transaction.
+     */
+    private void apply(List<ClaimedEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        Map<OutboxEventType, List<ClaimedEvent>> byType = new LinkedHashMap<>();
+        events.forEach(event -> byType.computeIfAbsent(event.type(), type -> new ArrayList<>()).add(event));
+        byType.forEach((type, group) -> {
+            OutboxHandler<?> handler = handlers.get(type);
+            if (handler == null) {
+                throw new IllegalStateException("No outbox handler for " + type);
+            }
+            handle(handler, group);
+        });
+        jdbcTemplate.batchUpdate("DELETE FROM outbox_events WHERE id = ?", events, events.size(),
+                (ps, event) -> ps.setLong(1, event.id()));
+    }
+
+    private <P> void handle(OutboxHandler<P> handler, List<ClaimedEvent> events) {
+        List<P> payloads = new ArrayList<>(events.size());
+        for (ClaimedEvent event : events) {
+            try {
+                payloads.add(objectMapper.readValue(event.payload(), handler.payloadType()));
+            } catch (JsonProcessingException ex) {
+                throw new IllegalStateException("Unreadable outbox payload for event " + event.id(), ex);
+            }
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        handler.handle(payloads);
+        sample.stop(Timer.builder("outbox.handler")
+                .description("Time a handler takes to apply one batch of events")
+                .tag("type", handler.type().name())
+                .register(meterRegistry));
+    }
+
+    private void recordApplied(ClaimedEvent event) {
+        counter(event.type(), "applied").increment();
+        Timer.builder("outbox.lag")
+                .description("Time from enqueue to apply")
+                .tag("type", event.type().name())
+                .register(meterRegistry)
+                .record(event.lagMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void recordFailure(ClaimedEvent event, RuntimeException ex) {
+        int attempts = event.attempts() + 1;
+        boolean dead = attempts >= maxAttempts;
+        long backoffMillis = Math.min(retryBackoff.toMillis() << Math.min(attempts - 1, 20), MAX_BACKOFF_MILLIS);
+        String error = String.valueOf(ex.getMessage());
+        transaction.executeWithoutResult(status -> jdbcTemplate.update(FAILURE_SQL,
+                attempts,
+                dead ? "DEAD" : "PENDING",
+                error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error,
+                dead,
+                backoffMillis / 1000.0,
+                event.id()));
+        counter(event.type(), dead ? "dead" : "retried").increment();
+    }
+
+    private Counter counter(OutboxEventType type, String outcome) {
+        return Counter.builder("outbox.events")
+                .description("Outbox events processed, by outcome")
+                .tag("type", type.name())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private double countByStatus(String status) {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM outbox_events WHERE status = ?", Long.class, status);
+        return count != null ? count : 0;
+    }
+
+    private ClaimedEvent mapEvent(ResultSet rs, int rowNum) throws SQLException {
+        return new ClaimedEvent(
+                rs.getLong("id"),
+                OutboxEventType.valueOf(rs.getString("type")),
+                rs.getString("payload"),
+                rs.getInt("attempts"),
+                rs.getLong("lag_ms"));
+    }
+
+    private record ClaimedEvent(long id, OutboxEventType type, String payload, int attempts, long lagMillis) {
+    }
+}
@@ -0,0 +1,9 @@
+package edu.yorku.sneaker_store_backend.service.outbox;
+
+/**
+ * Kinds of side effect that can be deferred through the outbox; stored as the event's {@code type}.
+ */
+public enum OutboxEventType {
+    INVENTORY_SALE,
+    CART_CLEAR
+}
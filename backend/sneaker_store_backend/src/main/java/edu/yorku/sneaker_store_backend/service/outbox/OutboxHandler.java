@@ -0,0 +1,16 @@
+package edu.yorku.sneaker_store_backend.service.outbox;
+
+import java.util.List;
+
+/**
+ * Applies one kind of outbox event. The dispatcher passes every claimed event of {@link #type()} in
+ * one call, inside the transaction that deletes them, so a handler can batch its writes.
+ */
+public interface OutboxHandler<P> {
+
+    OutboxEventType type();
+
+    Class<P> payloadType();
+
+    void handle(List<P> payloads);
+}
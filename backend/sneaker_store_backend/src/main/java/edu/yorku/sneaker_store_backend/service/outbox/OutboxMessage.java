@@ -0,0 +1,8 @@
+package edu.yorku.sneaker_store_backend.service.outbox;
+
+/**
+ * A side effect to enqueue; {@code payload} is stored as JSON and handed to the handler for
+ * {@code type}.
+ */
+public record OutboxMessage(OutboxEventType type, Object payload) {
+}
@@ -0,0 +1,47 @@
+package edu.yorku.sneaker_store_backend.service.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Writes side effects to the {@code outbox_events} table in the caller's transaction. They become
+ * visible to {@link OutboxDispatcher} only if that transaction commits, and are applied after it.
+ */
+@Service
+public class OutboxService {
+
+    private static final String INSERT_SQL = "INSERT INTO outbox_events (type, payload) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public OutboxService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Enqueues all {@code messages} with one JDBC batch.
+     */
+    public void enqueueAll(List<OutboxMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, messages, messages.size(), (ps, message) -> {
+            ps.setString(1, message.type().name());
+            ps.setString(2, toJson(message.payload()));
+        });
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unable to serialize outbox payload", ex);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package edu.yorku.sneaker_store_backend.service.payment;
+
+/**
+ * Gateway answer to an authorization request. A declined payment has no authorization id.
+ */
+public record PaymentAuthorization(boolean approved, String authorizationId, String message) {
+
+    public static PaymentAuthorization approved(String authorizationId) {
+        return new PaymentAuthorization(true, authorizationId, "Payment authorized");
+    }
+
+    public static PaymentAuthorization declined(String message) {
+        return new PaymentAuthorization(false, null, message);
+    }
+}
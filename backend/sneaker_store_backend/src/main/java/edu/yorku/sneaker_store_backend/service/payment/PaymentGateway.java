@@ -0,0 +1,20 @@
+package edu.yorku.sneaker_store_backend.service.payment;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Client for the card payment provider. Calls return immediately; the futures complete when the
+ * provider answers, and fail with {@link PaymentUnavailableException} when it cannot.
+ */
+public interface PaymentGateway {
+
+    /**
+     * Places a hold for the amount. A decline completes normally with an unapproved result.
+     */
+    CompletableFuture<PaymentAuthorization> authorize(PaymentRequest request);
+
+    /**
+     * Releases a hold that will not be captured, e.g. because the order could not be confirmed.
+     */
+    CompletableFuture<Void> voidAuthorization(String authorizationId);
+}
@@ -0,0 +1,10 @@
+package edu.yorku.sneaker_store_backend.service.payment;
+
+import java.math.BigDecimal;
+
+/**
+ * What the gateway is asked to authorize. {@code reference} is the order number, which gateways
+ * use to recognise a repeated request.
+ */
+public record PaymentRequest(String reference, BigDecimal amount, String paymentMethod, String paymentToken) {
+}
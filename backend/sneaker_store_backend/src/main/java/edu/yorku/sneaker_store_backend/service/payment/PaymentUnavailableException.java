@@ -0,0 +1,16 @@
+package edu.yorku.sneaker_store_backend.service.payment;
+
+/**
+ * The gateway could not give an answer (error or timeout). Unlike a decline, the checkout can be
+ * retried.
+ */
+public class PaymentUnavailableException extends RuntimeException {
+
+    public PaymentUnavailableException(String message) {
+        super(message);
+    }
+
+    public PaymentUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
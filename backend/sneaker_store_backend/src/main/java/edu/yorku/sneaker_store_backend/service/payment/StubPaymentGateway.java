@@ -0,0 +1,53 @@
+package edu.yorku.sneaker_store_backend.service.payment;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local stand-in for the payment provider. Every call answers after {@code app.payment.stub.latency}
+ * without holding a thread while it waits. The token {@code decline} is declined, and a share
+ * {@code app.payment.stub.failure-rate} (0.0-1.0) of calls fail as if the provider were down.
+ */
+@Component
+public class StubPaymentGateway implements PaymentGateway {
+
+    private static final String DECLINE_TOKEN = "decline";
+
+    private final Executor delayed;
+    private final double failureRate;
+
+    public StubPaymentGateway(@Value("${app.payment.stub.latency:PT0S}") Duration latency,
+                              @Value("${app.payment.stub.failure-rate:0.0}") double failureRate) {
+        this.delayed = CompletableFuture.delayedExecutor(latency.toNanos(), TimeUnit.NANOSECONDS);
+        this.failureRate = failureRate;
+    }
+
+    @Override
+    public CompletableFuture<PaymentAuthorization> authorize(PaymentRequest request) {
+        return CompletableFuture.supplyAsync(() -> {
+            failRandomly();
+            if (DECLINE_TOKEN.equalsIgnoreCase(request.paymentToken())) {
+                return PaymentAuthorization.declined("Credit Card Authorization Failed");
+            }
+            return PaymentAuthorization.approved("auth_" + UUID.randomUUID());
+        }, delayed);
+    }
+
+    @Override
+    public CompletableFuture<Void> voidAuthorization(String authorizationId) {
+        return CompletableFuture.runAsync(this::failRandomly, delayed);
+    }
+
+    private void failRandomly() {
+        if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+            throw new PaymentUnavailableException("Payment provider unavailable");
+        }
+    }
+}
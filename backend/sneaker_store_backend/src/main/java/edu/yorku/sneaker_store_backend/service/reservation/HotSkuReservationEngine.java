@@ -0,0 +1,378 @@
+package edu.yorku.sneaker_store_backend.service.reservation;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory stock counters for designated hot SKUs ({@code app.checkout.hot-skus}), so drop traffic
+ * does not queue on a single {@code products} row lock.
+ * <p>
+ * A checkout line for a hot SKU takes its units from the counter and gets a {@link ReservationToken}.
+ * Within the checkout transaction the tokens are written to {@code stock_reservations} as CONFIRMED
+ * rows, which is an append rather than an update of a contended row. If the transaction rolls back,
+ * the units go back to the counter. A scheduled job later subtracts confirmed quantities from
+ * {@code products} in batches and marks the rows APPLIED. After a restart, each counter is rebuilt
+ * as the product's stock minus its CONFIRMED rows.
+ * <p>
+ * Counters are guarded by striped locks keyed on the product id. Each critical section is a compare
+ * and an add, so contention on one SKU costs nanoseconds rather than a database round trip. The
+ * counters live in this JVM, so hot SKUs must be sold through a single application instance.
+ */
+@Component
+public class HotSkuReservationEngine {
+
+    private static final int STRIPES = 64;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO stock_reservations (id, product_id, order_id, quantity, status)
+            VALUES (?, ?, ?, ?, 'CONFIRMED')
+            """;
+
+    private static final String COUNTERS_SQL = """
+            SELECT p.id, p.stock_quantity - COALESCE(SUM(r.quantity), 0) AS available
+            FROM products p
+            LEFT JOIN stock_reservations r ON r.product_id = p.id AND r.status = 'CONFIRMED'
+            WHERE p.sku = ANY (?)
+            GROUP BY p.id, p.stock_quantity
+            """;
+
+    private static final String CLAIM_SQL = """
+            SELECT id, product_id, quantity
+            FROM stock_reservations
+            WHERE status = 'CONFIRMED'
+            ORDER BY created_at
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource primaryPool;
+    private final TransactionTemplate applyTransaction;
+    private final Set<String> hotSkus;
+    private final Duration ttl;
+    private final int applyBatchSize;
+
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<UUID, Reservation> pending = new ConcurrentHashMap<>();
+
+    private volatile boolean drained;
+
+    public HotSkuReservationEngine(JdbcTemplate jdbcTemplate,
+                                   @Qualifier("primaryPool") DataSource primaryPool,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${app.checkout.hot-skus:}") String hotSkus,
+                                   @Value("${app.checkout.reservation-ttl:PT2M}") Duration ttl,
+                                   @Value("${app.checkout.reservation-apply-batch-size:500}") int applyBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.primaryPool = primaryPool;
+        this.applyTransaction = new TransactionTemplate(transactionManager);
+        this.applyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.hotSkus = Arrays.stream(hotSkus.split(","))
+                .map(String::trim)
+                .filter(sku -> !sku.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.ttl = ttl;
+        this.applyBatchSize = applyBatchSize;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        reload();
+    }
+
+    public boolean isHot(Long productId) {
+        return productId != null && counters.containsKey(productId);
+    }
+
+    public boolean isHotSku(String sku) {
+        return sku != null && hotSkus.contains(sku.trim());
+    }
+
+    /**
+     * Rebuilds every counter from the primary: stock minus CONFIRMED rows minus reservations still
+     * held by open transactions. All stripes are held while the counters are read, so no checkout can
+     * settle in between. A reservation that has just committed may be counted twice for a moment,
+     * which undersells briefly but never oversells. The connection is taken before the locks so a
+     * busy pool cannot leave reservations waiting behind a reload that waits for a connection.
+     */
+    public void reload() {
+        if (hotSkus.isEmpty()) {
+            return;
+        }
+        try (Connection connection = primaryPool.getConnection()) {
+            for (ReentrantLock stripe : stripes) {
+                stripe.lock();
+            }
+            try {
+                Map<Long, Integer> held = new HashMap<>();
+                pending.values().forEach(r -> held.merge(r.token.productId(), r.token.quantity(), Integer::sum));
+
+                Map<Long, Integer> available = new HashMap<>();
+                try (PreparedStatement ps = connection.prepareStatement(COUNTERS_SQL)) {
+                    ps.setArray(1, connection.createArrayOf("varchar", hotSkus.toArray()));
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            available.put(rs.getLong("id"), rs.getInt("available"));
+                        }
+                    }
+                }
+
+                counters.keySet().retainAll(available.keySet());
+                available.forEach((productId, stock) -> counters
+                        .computeIfAbsent(productId, id -> new Counter())
+                        .available = stock - held.getOrDefault(productId, 0));
+            } finally {
+                for (ReentrantLock stripe : stripes) {
+                    stripe.unlock();
+                }
+            }
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Unable to load hot SKU stock", ex);
+        }
+    }
+
+    /**
+     * Reloads the counters once the current transaction commits; used after admin writes that set a
+     * hot product's stock directly.
+     */
+    public void reloadAfterCommit() {
+        if (hotSkus.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reload();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reload();
+            }
+        });
+    }
+
+    /**
+     * Units currently available for a hot product.
+     */
+    public int available(Long productId) {
+        Counter counter = counters.get(productId);
+        if (counter == null) {
+            throw new IllegalArgumentException("Product " + productId + " is not a hot SKU");
+        }
+        ReentrantLock stripe = stripeOf(productId);
+        stripe.lock();
+        try {
+            return counter.available;
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    /**
+     * Takes {@code quantity} units of a hot product for the current transaction. Returns empty when
+     * not enough are left. The units are returned automatically if the transaction rolls back or
+     * commits without {@link #confirm confirming} the token.
+     */
+    public Optional<ReservationToken> reserve(Long productId, int quantity) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Hot SKU reservations must be made inside a transaction");
+        }
+        Counter counter = counters.get(productId);
+        if (counter == null) {
+            throw new IllegalArgumentException("Product " + productId + " is not a hot SKU");
+        }
+
+        ReservationToken token;
+        ReentrantLock stripe = stripeOf(productId);
+        stripe.lock();
+        try {
+            if (counter.available < quantity) {
+                return Optional.empty();
+            }
+            counter.available -= quantity;
+            token = new ReservationToken(UUID.randomUUID(), productId, quantity, counter.available,
+                    Instant.now().plus(ttl));
+            pending.put(token.id(), new Reservation(token));
+        } finally {
+            stripe.unlock();
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                complete(token, status == STATUS_COMMITTED);
+            }
+        });
+        return Optional.of(token);
+    }
+
+    /**
+     * Writes the tokens as CONFIRMED rows in the current transaction. Once it commits, their units
+     * stay sold and are subtracted from {@code products} by {@link #applyConfirmed()}.
+     */
+    public void confirm(Collection<ReservationToken> tokens, Long orderId) {
+        if (tokens.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, tokens, tokens.size(), (ps, token) -> {
+            ps.setObject(1, token.id());
+            ps.setLong(2, token.productId());
+            ps.setObject(3, orderId);
+            ps.setInt(4, token.quantity());
+        });
+        tokens.forEach(token -> {
+            Reservation reservation = pending.get(token.id());
+            if (reservation != null) {
+                reservation.confirmed = true;
+            }
+        });
+    }
+
+    /**
+     * Hands back reservations whose transaction outlived the TTL without completing, e.g. because
+     * the thread holding it died.
+     */
+    @Scheduled(fixedDelayString = "${app.checkout.reservation-sweep-interval-ms:5000}")
+    public void expireReservations() {
+        Instant now = Instant.now();
+        for (Reservation reservation : List.copyOf(pending.values())) {
+            if (reservation.token.expiresAt().isBefore(now)) {
+                release(reservation.token);
+            }
+        }
+    }
+
+    /**
+     * Subtracts CONFIRMED reservations from {@code products} and marks them APPLIED, one batch per
+     * transaction. Product rows are updated in id order so concurrent appliers cannot deadlock.
+     * Without hot SKUs nothing writes new rows, so once any left by an earlier configuration are
+     * applied the poll stops touching the database.
+     */
+    @Scheduled(fixedDelayString = "${app.checkout.reservation-apply-interval-ms:500}")
+    public void applyConfirmed() {
+        if (drained) {
+            return;
+        }
+        Integer applied;
+        do {
+            applied = applyTransaction.execute(status -> applyBatch());
+        } while (applied != null && applied == applyBatchSize);
+        drained = hotSkus.isEmpty();
+    }
+
+    private int applyBatch() {
+        List<UUID> ids = new ArrayList<>();
+        Map<Long, Integer> totals = new TreeMap<>();
+        jdbcTemplate.query(CLAIM_SQL, ps -> ps.setInt(1, applyBatchSize), rs -> {
+            ids.add(rs.getObject("id", UUID.class));
+            totals.merge(rs.getLong("product_id"), rs.getInt("quantity"), Integer::sum);
+        });
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<Map.Entry<Long, Integer>> decrements = new ArrayList<>(totals.entrySet());
+        jdbcTemplate.batchUpdate("UPDATE products SET stock_quantity = stock_quantity - ? WHERE id = ?",
+                decrements, decrements.size(), (ps, entry) -> {
+                    ps.setInt(1, entry.getValue());
+                    ps.setLong(2, entry.getKey());
+                });
+        jdbcTemplate.update("UPDATE stock_reservations SET status = 'APPLIED', applied_at = ? WHERE id = ANY (?)",
+                ps -> {
+                    ps.setTimestamp(1, Timestamp.from(Instant.now()));
+                    ps.setArray(2, ps.getConnection().createArrayOf("uuid", ids.toArray()));
+                });
+        return ids.size();
+    }
+
+    /**
+     * Settles a reservation when its transaction finishes. A confirmed token that committed stays
+     * sold; anything else is released. A token the sweeper already expired is taken again if its
+     * transaction did commit, since those units are now sold in the database.
+     */
+    private void complete(ReservationToken token, boolean committed) {
+        ReentrantLock stripe = stripeOf(token.productId());
+        stripe.lock();
+        try {
+            Reservation reservation = pending.remove(token.id());
+            boolean sold = committed && (reservation == null || reservation.confirmed);
+            Counter counter = counters.get(token.productId());
+            if (counter == null) {
+                return;
+            }
+            if (reservation != null && !sold) {
+                counter.available += token.quantity();
+            } else if (reservation == null && sold) {
+                counter.available -= token.quantity();
+            }
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    private void release(ReservationToken token) {
+        ReentrantLock stripe = stripeOf(token.productId());
+        stripe.lock();
+        try {
+            Counter counter = counters.get(token.productId());
+            if (pending.remove(token.id()) != null && counter != null) {
+                counter.available += token.quantity();
+            }
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    private ReentrantLock stripeOf(Long productId) {
+        return stripes[Math.floorMod(productId.hashCode(), STRIPES)];
+    }
+
+    /** Units left for one product; only read or written under its stripe lock. */
+    private static final class Counter {
+        int available;
+    }
+
+    private static final class Reservation {
+        final ReservationToken token;
+        volatile boolean confirmed;
+
+        Reservation(ReservationToken token) {
+            this.token = token;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package edu.yorku.sneaker_store_backend.service.reservation;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Stock held for one checkout line of a hot SKU.
+ *
+ * @param remaining units still available for the product right after this reservation
+ * @param expiresAt when the reservation is handed back if its transaction never completes
+ */
+public record ReservationToken(UUID id, Long productId, int quantity, int remaining, Instant expiresAt) {
+}
@@ -0,0 +1,21 @@
+-- Saved card details are now written in the confirming transaction instead of through the outbox.
+-- Apply any PAYMENT_DETAILS events still queued, then drop them so no card data stays in the table.
+UPDATE customers c
+SET credit_card_holder = COALESCE(NULLIF(btrim(e.payload::json ->> 'cardHolder'), ''), c.credit_card_holder),
+    credit_card_number = COALESCE(NULLIF(btrim(e.payload::json ->> 'cardNumber'), ''), c.credit_card_number),
+    credit_card_expiry = COALESCE(NULLIF(btrim(e.payload::json ->> 'cardExpiry'), ''), c.credit_card_expiry),
+    credit_card_cvv    = COALESCE(NULLIF(btrim(e.payload::json ->> 'cardCvv'), ''), c.credit_card_cvv)
+FROM (
+    SELECT DISTINCT ON ((payload::json ->> 'customerId')::bigint) payload
+    FROM outbox_events
+    WHERE type = 'PAYMENT_DETAILS' AND status = 'PENDING'
+    ORDER BY (payload::json ->> 'customerId')::bigint, id DESC
+) e
+WHERE c.id = (e.payload::json ->> 'customerId')::bigint;
+
+DELETE FROM outbox_events WHERE type = 'PAYMENT_DETAILS';
+
+-- DEAD rows keep their error for inspection but no longer their payload.
+ALTER TABLE outbox_events ALTER COLUMN payload DROP NOT NULL;
+
+UPDATE outbox_events SET payload = NULL WHERE status = 'DEAD';
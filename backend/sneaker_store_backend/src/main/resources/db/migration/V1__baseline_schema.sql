@@ -1,13 +1,5 @@
--- Drop existing tables so repeated executions keep the schema in sync
-DROP TABLE IF EXISTS cart_items;
-DROP TABLE IF EXISTS carts;
-DROP TABLE IF EXISTS order_items;
-DROP TABLE IF EXISTS orders;
-DROP TABLE IF EXISTS sneaker_sizes;
-DROP TABLE IF EXISTS inventory_events;
-DROP TABLE IF EXISTS sneakers;
-DROP TABLE IF EXISTS products;
-DROP TABLE IF EXISTS customers;
+-- Baseline schema. Existing databases created from the old schema.sql are baselined at this version
+-- (spring.flyway.baseline-on-migrate), so this script only runs against an empty database.
 
 -- 1) Customers
 CREATE TABLE IF NOT EXISTS customers (
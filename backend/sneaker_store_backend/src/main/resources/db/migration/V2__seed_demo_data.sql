@@ -1,3 +1,11 @@
+-- Demo catalog, customers and sample activity. Only applied when the database holds no customers,
+-- products or sneakers yet, so databases seeded through the old data.sql are left untouched.
+DO $seed$
+BEGIN
+IF EXISTS (SELECT 1 FROM customers) OR EXISTS (SELECT 1 FROM products) OR EXISTS (SELECT 1 FROM sneakers) THEN
+    RETURN;
+END IF;
+
 -- Seed customers (two fully populated example customers)
 INSERT INTO customers (
     first_name, last_name, email, password_hash,
@@ -103,3 +111,6 @@ VALUES
     (1, 'SALE', NOW() - INTERVAL '5 days', -1, 50, 49, NULL, NULL, 1, 'Order ORD-1001'),
     (2, 'RESTOCK', NOW() - INTERVAL '15 days', 15, 25, 40, NULL, NULL, NULL, 'Supplier replenishment'),
     (3, 'ADJUSTMENT', NOW() - INTERVAL '7 days', -5, 35, 30, NULL, NULL, NULL, 'Damaged box write-off');
+
+END
+$seed$;
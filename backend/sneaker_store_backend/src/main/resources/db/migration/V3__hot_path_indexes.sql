@@ -0,0 +1,24 @@
+-- Secondary indexes for the foreign keys and lookups used on every request.
+-- Spring Data derives "IgnoreCase" queries as upper(column) = upper(?), so the case-insensitive
+-- lookups get expression indexes on upper(...) rather than on the raw column.
+
+-- OrderRepository.findByCustomerId / existsByCustomerId
+CREATE INDEX IF NOT EXISTS idx_orders_customer_id ON orders (customer_id);
+
+-- Order.items fetch and OrderRepository.existsByItemsProductId
+CREATE INDEX IF NOT EXISTS idx_order_items_order_id ON order_items (order_id);
+CREATE INDEX IF NOT EXISTS idx_order_items_product_id ON order_items (product_id);
+
+-- CartRepository.findByCustomerId
+CREATE INDEX IF NOT EXISTS idx_carts_customer_id ON carts (customer_id);
+
+-- Cart.items fetch and CartItemRepository.existsByProductId
+CREATE INDEX IF NOT EXISTS idx_cart_items_cart_id ON cart_items (cart_id);
+CREATE INDEX IF NOT EXISTS idx_cart_items_product_id ON cart_items (product_id);
+
+-- InventoryEventRepository.findByProductIdOrderByEventTimeDesc / existsByProductId
+CREATE INDEX IF NOT EXISTS idx_inventory_events_product_time ON inventory_events (product_id, event_time DESC);
+
+-- SneakerRepository.findFirstByNameIgnoreCase / findByBrandIgnoreCase
+CREATE INDEX IF NOT EXISTS idx_sneakers_upper_name ON sneakers (upper(name));
+CREATE INDEX IF NOT EXISTS idx_sneakers_upper_brand ON sneakers (upper(brand));
@@ -0,0 +1,78 @@
+-- Links every storefront sneaker to the product it mirrors and lets the database keep the two in step.
+-- Until now the link was implicit: admin edits looked the sneaker up by case-insensitive name and
+-- checkout assumed sneaker ids equal product ids, so each write touched both tables from the app.
+
+ALTER TABLE sneakers ADD COLUMN IF NOT EXISTS product_id BIGINT;
+
+-- Backfill: first the name match the admin mirroring used, then the id match checkout relied on.
+UPDATE sneakers s
+SET product_id = m.product_id
+FROM (
+    SELECT DISTINCT ON (p.id) p.id AS product_id, sn.id AS sneaker_id
+    FROM products p
+    JOIN sneakers sn ON upper(sn.name) = upper(p.name)
+    ORDER BY p.id, sn.id
+) m
+WHERE s.id = m.sneaker_id;
+
+UPDATE sneakers s
+SET product_id = p.id
+FROM products p
+WHERE s.product_id IS NULL
+  AND s.id = p.id
+  AND NOT EXISTS (SELECT 1 FROM sneakers linked WHERE linked.product_id = p.id);
+
+-- Products own price and stock; bring linked sneakers back in line before the trigger takes over.
+UPDATE sneakers s
+SET price = p.price,
+    stock = p.stock_quantity
+FROM products p
+WHERE s.product_id = p.id;
+
+ALTER TABLE sneakers
+    ADD CONSTRAINT uq_sneakers_product_id UNIQUE (product_id);
+
+ALTER TABLE sneakers
+    ADD CONSTRAINT fk_sneakers_product
+        FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE;
+
+-- A product without a storefront sneaker gets one (with the default size run) on its next write;
+-- otherwise the product columns are copied onto its sneaker. Storefront-only fields (colorway,
+-- category, genre, sizes) are never overwritten.
+CREATE OR REPLACE FUNCTION mirror_product_to_sneaker() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'UPDATE' THEN
+        UPDATE sneakers
+        SET name        = NEW.name,
+            brand       = COALESCE(NEW.brand, ''),
+            price       = NEW.price,
+            stock       = NEW.stock_quantity,
+            description = NEW.description,
+            image_url   = NEW.image_url
+        WHERE product_id = NEW.id;
+        IF FOUND THEN
+            RETURN NEW;
+        END IF;
+    END IF;
+
+    WITH created AS (
+        INSERT INTO sneakers (product_id, name, brand, price, stock, description, image_url)
+        VALUES (NEW.id, NEW.name, COALESCE(NEW.brand, ''), NEW.price, NEW.stock_quantity,
+                NEW.description, NEW.image_url)
+        RETURNING id
+    )
+    INSERT INTO sneaker_sizes (sneaker_id, size)
+    SELECT created.id, size FROM created, unnest(ARRAY['8', '9', '10']) AS size;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_products_mirror_insert
+    AFTER INSERT ON products
+    FOR EACH ROW EXECUTE FUNCTION mirror_product_to_sneaker();
+
+CREATE TRIGGER trg_products_mirror_update
+    AFTER UPDATE ON products
+    FOR EACH ROW
+    WHEN (OLD.* IS DISTINCT FROM NEW.*)
+    EXECUTE FUNCTION mirror_product_to_sneaker();
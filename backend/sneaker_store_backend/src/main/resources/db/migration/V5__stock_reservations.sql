@@ -0,0 +1,22 @@
+-- Write-behind log for the hot-SKU reservation engine. A checkout of a hot SKU reserves stock in
+-- memory and inserts a CONFIRMED row here instead of updating the products row; a background job
+-- later subtracts confirmed quantities from products in batches and marks the rows APPLIED.
+-- On startup the engine rebuilds its counters as stock_quantity minus the CONFIRMED rows.
+CREATE TABLE IF NOT EXISTS stock_reservations (
+    id         UUID PRIMARY KEY,
+    product_id BIGINT      NOT NULL,
+    order_id   BIGINT,
+    quantity   INTEGER     NOT NULL CHECK (quantity > 0),
+    status     VARCHAR(16) NOT NULL,
+    created_at TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    applied_at TIMESTAMP,
+    CONSTRAINT fk_stock_reservations_product
+        FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE,
+    CONSTRAINT fk_stock_reservations_order
+        FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE SET NULL
+);
+
+-- The applier and startup recovery only ever look at rows still waiting to be applied.
+CREATE INDEX IF NOT EXISTS idx_stock_reservations_confirmed
+    ON stock_reservations (product_id, created_at)
+    WHERE status = 'CONFIRMED';
@@ -0,0 +1,18 @@
+-- Transactional outbox. Checkout writes its follow-up work (inventory history, cart clearing, saved
+-- card details) here in the same transaction as the order; OutboxDispatcher applies and deletes the
+-- rows after commit. Rows that keep failing are left as DEAD with their last error.
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    type         VARCHAR(64)   NOT NULL,
+    payload      TEXT          NOT NULL,
+    status       VARCHAR(16)   NOT NULL DEFAULT 'PENDING',
+    attempts     INTEGER       NOT NULL DEFAULT 0,
+    created_at   TIMESTAMP     NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    available_at TIMESTAMP     NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_error   VARCHAR(1000)
+);
+
+-- The dispatcher only polls due PENDING rows, oldest first.
+CREATE INDEX IF NOT EXISTS idx_outbox_events_pending
+    ON outbox_events (available_at, id)
+    WHERE status = 'PENDING';
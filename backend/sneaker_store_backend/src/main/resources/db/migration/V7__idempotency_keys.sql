@@ -0,0 +1,16 @@
+-- Responses of requests sent with an Idempotency-Key header (POST /api/checkout). A retry with the
+-- same key gets the stored response instead of running again. The row is claimed as IN_PROGRESS
+-- before the work starts and completed in the same transaction as that work; rows are purged once
+-- expires_at has passed.
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    request_hash    VARCHAR(64)  NOT NULL,
+    status          VARCHAR(16)  NOT NULL,
+    response_status INTEGER,
+    response_body   TEXT,
+    locked_until    TIMESTAMP,
+    created_at      TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at      TIMESTAMP    NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
@@ -0,0 +1,3 @@
+-- Hands out the node id embedded in order numbers. Each backend instance takes the next value on
+-- startup, so instances running at the same time never share an id (the sequence wraps after 1024).
+CREATE SEQUENCE IF NOT EXISTS order_number_node_seq MINVALUE 0 MAXVALUE 1023 START 0 CYCLE;
@@ -0,0 +1,3 @@
+-- Orders are written with status AWAITING_PAYMENT before the payment provider is called, and move to
+-- PAID or CANCELLED afterwards. This index lets the sweep find the few left behind by a crash.
+CREATE INDEX IF NOT EXISTS idx_orders_awaiting_payment ON orders (order_date) WHERE status = 'AWAITING_PAYMENT';
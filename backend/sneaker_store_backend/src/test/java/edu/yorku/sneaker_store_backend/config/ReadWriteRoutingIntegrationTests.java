@@ -0,0 +1,63 @@
+package edu.yorku.sneaker_store_backend.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Routing against two real pools. The replica pool points at the local database under its own
+ * application name, so each statement can report which pool served it. Point
+ * {@code app.datasource.replica.url} at a second database to run the same checks across two
+ * instances.
+ */
+@SpringBootTest(properties = {
+        "app.datasource.replica.url=${spring.datasource.url}",
+        "app.datasource.replica.hikari.data-source-properties.ApplicationName=" + ReadWriteRoutingIntegrationTests.REPLICA_NAME
+})
+class ReadWriteRoutingIntegrationTests {
+
+    static final String REPLICA_NAME = "sneaker-store-replica";
+
+    private static final String APPLICATION_NAME_SQL = "SELECT current_setting('application_name')";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void readOnlyTransactionsUseTheReplicaPool() {
+        assertThat(inTransaction(true, () -> jdbcTemplate.queryForObject(APPLICATION_NAME_SQL, String.class)))
+                .isEqualTo(REPLICA_NAME);
+    }
+
+    @Test
+    void readWriteTransactionsAndPlainStatementsUseThePrimaryPool() {
+        assertThat(inTransaction(false, () -> jdbcTemplate.queryForObject(APPLICATION_NAME_SQL, String.class)))
+                .isNotEqualTo(REPLICA_NAME);
+        assertThat(jdbcTemplate.queryForObject(APPLICATION_NAME_SQL, String.class)).isNotEqualTo(REPLICA_NAME);
+    }
+
+    @Test
+    void writesCannotReachTheReplica() {
+        assertThatThrownBy(() -> inTransaction(true, () -> jdbcTemplate.update("CREATE TEMP TABLE routing_probe (id INT)")))
+                .isInstanceOf(DataAccessException.class)
+                .hasMessageContaining("read-only");
+    }
+
+    private <T> T inTransaction(boolean readOnly, Supplier<T> work) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> work.get());
+    }
+}
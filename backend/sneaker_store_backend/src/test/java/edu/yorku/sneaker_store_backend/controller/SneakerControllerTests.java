@@ -0,0 +1,148 @@
+package edu.yorku.sneaker_store_backend.controller;
+
+import edu.yorku.sneaker_store_backend.model.Sneaker;
+import edu.yorku.sneaker_store_backend.service.SneakerService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Conditional GETs on the catalog endpoints. The outbox poller is parked so no background write
+ * moves the catalog version in the middle of a test.
+ */
+@SpringBootTest(properties = "app.outbox.poll-interval-ms=3600000")
+@AutoConfigureMockMvc
+class SneakerControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SneakerService sneakerService;
+
+    private final List<Long> created = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        for (int i = 0; i < 3; i++) {
+            create();
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        created.forEach(sneakerService::delete);
+    }
+
+    @Test
+    void ifNoneMatchOnASneakerReturnsNotModified() throws Exception {
+        Long id = created.get(0);
+        String etag = "\"" + sneakerService.currentCatalog().version() + "\"";
+
+        mockMvc.perform(get("/api/sneakers/{id}", id).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+        mockMvc.perform(get("/api/sneakers/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void listETagNamesTheContentCoding() throws Exception {
+        long version = sneakerService.currentCatalog().version();
+
+        mockMvc.perform(get("/api/sneakers").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + version + "-gzip\""))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING));
+        mockMvc.perform(get("/api/sneakers"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + version + "\""))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().stringValues(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    @Test
+    void ifNoneMatchOnlyMatchesTheSameCoding() throws Exception {
+        String gzipTag = "\"" + sneakerService.currentCatalog().version() + "-gzip\"";
+
+        mockMvc.perform(get("/api/sneakers/facets").header(HttpHeaders.IF_NONE_MATCH, gzipTag))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+        mockMvc.perform(get("/api/sneakers/facets")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, gzipTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, gzipTag))
+                .andExpect(header().stringValues(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    @Test
+    void ifModifiedSinceReturnsNotModifiedUntilTheCatalogChanges() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/sneakers")).andExpect(status().isOk()).andReturn();
+        long lastModified = first.getResponse().getDateHeader(HttpHeaders.LAST_MODIFIED);
+
+        mockMvc.perform(get("/api/sneakers").headers(ifModifiedSince(lastModified)))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/sneakers").headers(ifModifiedSince(lastModified - 60_000)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void aWriteBumpsTheVersionSoOldETagsNoLongerMatch() throws Exception {
+        String before = mockMvc.perform(get("/api/sneakers"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        create();
+
+        String after = mockMvc.perform(get("/api/sneakers").header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(after).isNotEqualTo(before);
+        assertThat(after).isEqualTo("\"" + sneakerService.currentCatalog().version() + "\"");
+        assertThat(sneakerService.currentCatalog().version())
+                .isGreaterThan(Long.parseLong(before.replace("\"", "")));
+    }
+
+    /**
+     * The padded description keeps the list body above the gzip threshold even on an empty catalog.
+     */
+    private void create() {
+        String suffix = UUID.randomUUID().toString();
+        Sneaker sneaker = sneakerService.create(Sneaker.builder()
+                .name("ETag Probe " + suffix)
+                .brand("Probe")
+                .description("Conditional request probe " + suffix + " ".repeat(200))
+                .price(new BigDecimal("100.00"))
+                .stock(1)
+                .availableSizes(new ArrayList<>(List.of("9")))
+                .build());
+        created.add(sneaker.getId());
+    }
+
+    private static HttpHeaders ifModifiedSince(long epochMillis) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfModifiedSince(epochMillis);
+        return headers;
+    }
+}
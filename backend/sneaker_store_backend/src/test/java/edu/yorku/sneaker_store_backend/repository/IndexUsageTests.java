@@ -0,0 +1,63 @@
+package edu.yorku.sneaker_store_backend.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the planner can answer the repository hot-path lookups from the indexes added in
+ * {@code V3__hot_path_indexes.sql}. Sequential scans are disabled for the test transaction so the
+ * tiny demo tables do not make a full scan look cheaper than the index.
+ */
+@SpringBootTest
+@Transactional
+class IndexUsageTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void disableSequentialScans() {
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+    }
+
+    static Stream<Arguments> hotPathQueries() {
+        return Stream.of(
+                Arguments.of("select * from orders where customer_id = 1",
+                        "idx_orders_customer_id"),
+                Arguments.of("select * from order_items where order_id = 1",
+                        "idx_order_items_order_id"),
+                Arguments.of("select o.id from orders o join order_items i on i.order_id = o.id where i.product_id = 1 limit 1",
+                        "idx_order_items_product_id"),
+                Arguments.of("select * from carts where customer_id = 1",
+                        "idx_carts_customer_id"),
+                Arguments.of("select * from cart_items where cart_id = 1",
+                        "idx_cart_items_cart_id"),
+                Arguments.of("select id from cart_items where product_id = 1 limit 1",
+                        "idx_cart_items_product_id"),
+                Arguments.of("select * from inventory_events where product_id = 1 order by event_time desc",
+                        "idx_inventory_events_product_time"),
+                Arguments.of("select * from sneakers where upper(name) = upper('Air Max 90') limit 1",
+                        "idx_sneakers_upper_name"),
+                Arguments.of("select * from sneakers where upper(brand) = upper('Nike')",
+                        "idx_sneakers_upper_brand")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("hotPathQueries")
+    void plannerUsesIndex(String sql, String index) {
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+
+        assertThat(plan).contains(index);
+    }
+}
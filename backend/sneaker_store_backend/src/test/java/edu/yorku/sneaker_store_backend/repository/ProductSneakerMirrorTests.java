@@ -0,0 +1,156 @@
+package edu.yorku.sneaker_store_backend.repository;
+
+import edu.yorku.sneaker_store_backend.model.Product;
+import edu.yorku.sneaker_store_backend.model.Sneaker;
+import edu.yorku.sneaker_store_backend.service.SneakerService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The {@code mirror_product_to_sneaker} trigger and backfill from {@code V4__link_sneakers_to_products.sql},
+ * plus the storefront writes that must not fight it.
+ */
+@SpringBootTest
+@Transactional
+class ProductSneakerMirrorTests {
+
+    private static final String MIRROR_SQL = """
+            SELECT id, name, brand, price, stock, description, image_url, colorway
+            FROM sneakers WHERE product_id = ?
+            """;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SneakerService sneakerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Product product;
+
+    @BeforeEach
+    void seed() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        product = productRepository.save(Product.builder()
+                .sku("MIR-" + suffix)
+                .name("Mirror Runner " + suffix)
+                .brand("Mirror")
+                .description("Original description")
+                .imageUrl("https://example.com/original.png")
+                .price(new BigDecimal("90.00"))
+                .stockQuantity(12)
+                .build());
+    }
+
+    @Test
+    void backfillLeftEveryLinkedSneakerInLineWithItsProduct() {
+        Integer drifted = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM sneakers s JOIN products p ON p.id = s.product_id
+                WHERE s.price <> p.price OR s.stock <> p.stock_quantity OR s.name <> p.name
+                """, Integer.class);
+
+        assertThat(drifted).isZero();
+    }
+
+    @Test
+    void insertingAProductCreatesItsSneakerWithTheDefaultSizes() {
+        Map<String, Object> mirror = mirror();
+
+        assertThat(mirror.get("name")).isEqualTo(product.getName());
+        assertThat(mirror.get("brand")).isEqualTo("Mirror");
+        assertThat((BigDecimal) mirror.get("price")).isEqualByComparingTo("90.00");
+        assertThat(mirror.get("stock")).isEqualTo(12);
+        assertThat(jdbcTemplate.queryForList("SELECT size FROM sneaker_sizes WHERE sneaker_id = ? ORDER BY size",
+                String.class, mirror.get("id"))).containsExactly("10", "8", "9");
+    }
+
+    @Test
+    void updatingAProductCopiesItsColumnsButKeepsStorefrontFields() {
+        Long sneakerId = ((Number) mirror().get("id")).longValue();
+        jdbcTemplate.update("UPDATE sneakers SET colorway = 'Bred' WHERE id = ?", sneakerId);
+
+        jdbcTemplate.update("""
+                UPDATE products SET name = ?, brand = 'Renamed', price = 95.00,
+                                    description = 'New description', image_url = 'https://example.com/new.png'
+                WHERE id = ?
+                """, product.getName() + " II", product.getId());
+
+        Map<String, Object> mirror = mirror();
+        assertThat(mirror.get("id")).isEqualTo(sneakerId);
+        assertThat(mirror.get("name")).isEqualTo(product.getName() + " II");
+        assertThat(mirror.get("brand")).isEqualTo("Renamed");
+        assertThat((BigDecimal) mirror.get("price")).isEqualByComparingTo("95.00");
+        assertThat(mirror.get("description")).isEqualTo("New description");
+        assertThat(mirror.get("image_url")).isEqualTo("https://example.com/new.png");
+        assertThat(mirror.get("colorway")).isEqualTo("Bred");
+    }
+
+    @Test
+    void stockOnlyUpdatesReachTheSneaker() {
+        jdbcTemplate.update("UPDATE products SET stock_quantity = stock_quantity - 5 WHERE id = ?", product.getId());
+
+        Map<String, Object> mirror = mirror();
+        assertThat(mirror.get("stock")).isEqualTo(7);
+        assertThat(mirror.get("name")).isEqualTo(product.getName());
+    }
+
+    @Test
+    void deletingAProductDeletesItsSneaker() {
+        jdbcTemplate.update("DELETE FROM products WHERE id = ?", product.getId());
+
+        assertThat(jdbcTemplate.queryForList(MIRROR_SQL, product.getId())).isEmpty();
+    }
+
+    @Test
+    void storefrontEditsToMirroredFieldsAreRejected() {
+        Long sneakerId = ((Number) mirror().get("id")).longValue();
+
+        assertThatThrownBy(() -> sneakerService.update(sneakerId, Sneaker.builder()
+                .name("Storefront Rename")
+                .build()))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> sneakerService.delete(sneakerId))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(mirror().get("name")).isEqualTo(product.getName());
+    }
+
+    @Test
+    void storefrontFieldsCanStillBeEdited() {
+        Long sneakerId = ((Number) mirror().get("id")).longValue();
+
+        Sneaker updated = sneakerService.update(sneakerId, Sneaker.builder()
+                .name(product.getName())
+                .colorway("Chicago")
+                .stock(0)
+                .availableSizes(List.of("11"))
+                .build());
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE products SET stock_quantity = stock_quantity - 1 WHERE id = ?", product.getId());
+
+        assertThat(updated.getColorway()).isEqualTo("Chicago");
+        assertThat(mirror().get("colorway")).isEqualTo("Chicago");
+        assertThat(mirror().get("stock")).isEqualTo(11);
+    }
+
+    private Map<String, Object> mirror() {
+        return jdbcTemplate.queryForMap(MIRROR_SQL, product.getId());
+    }
+}
@@ -0,0 +1,75 @@
+package edu.yorku.sneaker_store_backend.repository;
+
+import edu.yorku.sneaker_store_backend.model.Sneaker;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards against the sneaker_sizes N+1: loading the catalog must not issue one sizes select per sneaker.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class SneakerRepositoryTests {
+
+    private static final int SNEAKER_COUNT = 25;
+
+    @Autowired
+    private SneakerRepository sneakerRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void seedSneakers() {
+        for (int i = 0; i < SNEAKER_COUNT; i++) {
+            sneakerRepository.save(Sneaker.builder()
+                    .name("N+1 Probe " + i)
+                    .brand("Probe")
+                    .price(BigDecimal.valueOf(100 + i))
+                    .stock(i)
+                    .availableSizes(List.of("9", "10.5"))
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findAllWithSizesUsesSingleQuery() {
+        List<Sneaker> sneakers = sneakerRepository.findAllWithSizes();
+        int sizes = sneakers.stream().mapToInt(sneaker -> sneaker.getAvailableSizes().size()).sum();
+
+        assertThat(sneakers.size()).isGreaterThanOrEqualTo(SNEAKER_COUNT);
+        assertThat(sizes).isGreaterThanOrEqualTo(SNEAKER_COUNT * 2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void lazySizesAreLoadedInBatches() {
+        List<Sneaker> sneakers = sneakerRepository.findAll();
+        sneakers.forEach(sneaker -> sneaker.getAvailableSizes().size());
+
+        long batches = (sneakers.size() + 99) / 100;
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(1 + batches);
+    }
+}
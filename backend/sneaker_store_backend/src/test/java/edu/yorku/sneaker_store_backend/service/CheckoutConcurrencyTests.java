@@ -0,0 +1,143 @@
+package edu.yorku.sneaker_store_backend.service;
+
+import edu.yorku.sneaker_store_backend.dto.CheckoutItemDto;
+import edu.yorku.sneaker_store_backend.dto.CheckoutRequestDto;
+import edu.yorku.sneaker_store_backend.model.Customer;
+import edu.yorku.sneaker_store_backend.model.Product;
+import edu.yorku.sneaker_store_backend.repository.CustomerRepository;
+import edu.yorku.sneaker_store_backend.repository.OrderRepository;
+import edu.yorku.sneaker_store_backend.repository.ProductRepository;
+import edu.yorku.sneaker_store_backend.service.outbox.OutboxDispatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hammers a single product with concurrent checkouts and checks that exactly the available stock is
+ * sold: no order goes through once stock reaches zero, and stock never goes negative. Admission is
+ * off, otherwise it would queue every checkout of the product on one partition and the row lock and
+ * conditional update would never be contended. The throughput is published as a report entry.
+ */
+@SpringBootTest(properties = "app.checkout.admission.enabled=false")
+class CheckoutConcurrencyTests {
+
+    private static final int INITIAL_STOCK = 200;
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS = INITIAL_STOCK * 2;
+
+    @Autowired
+    private CheckoutService checkoutService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Product product;
+    private Customer customer;
+
+    @BeforeEach
+    void seedProduct() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        product = productRepository.save(Product.builder()
+                .sku("HOT-" + suffix)
+                .name("Contention Runner " + suffix)
+                .brand("Test")
+                .price(new BigDecimal("100.00"))
+                .stockQuantity(INITIAL_STOCK)
+                .build());
+        customer = customerRepository.save(Customer.builder()
+                .firstName("Load")
+                .lastName("Test")
+                .email("load-" + suffix + "@example.com")
+                .passwordHash("x")
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        outboxDispatcher.dispatch();
+        jdbcTemplate.update("DELETE FROM orders WHERE customer_id = ?", customer.getId());
+        jdbcTemplate.update("DELETE FROM products WHERE id = ?", product.getId());
+        jdbcTemplate.update("DELETE FROM customers WHERE id = ?", customer.getId());
+    }
+
+    @Test
+    void concurrentCheckoutsNeverOversell(TestReporter reporter) throws Exception {
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>(ATTEMPTS);
+        try {
+            for (int i = 0; i < ATTEMPTS; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        checkoutService.checkout(singleItemCheckout());
+                        sold.incrementAndGet();
+                    } catch (IllegalStateException ex) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            long began = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            double seconds = (System.nanoTime() - began) / 1e9;
+            reporter.publishEntry(Map.of(
+                    "attempts", String.valueOf(ATTEMPTS),
+                    "threads", String.valueOf(THREADS),
+                    "seconds", String.format("%.2f", seconds),
+                    "checkoutsPerSecond", String.format("%.0f", ATTEMPTS / seconds)));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(sold.get()).isEqualTo(INITIAL_STOCK);
+        assertThat(rejected.get()).isEqualTo(ATTEMPTS - INITIAL_STOCK);
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStockQuantity()).isZero();
+        assertThat(orderRepository.findByCustomerId(customer.getId())).hasSize(INITIAL_STOCK);
+    }
+
+    private CheckoutRequestDto singleItemCheckout() {
+        return CheckoutRequestDto.builder()
+                .customerId(customer.getId())
+                .paymentMethod("CARD")
+                .items(List.of(CheckoutItemDto.builder()
+                        .productId(product.getId())
+                        .quantity(1)
+                        .build()))
+                .build();
+    }
+}
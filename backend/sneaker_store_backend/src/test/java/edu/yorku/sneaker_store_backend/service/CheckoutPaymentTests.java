@@ -0,0 +1,229 @@
+package edu.yorku.sneaker_store_backend.service;
+
+import edu.yorku.sneaker_store_backend.dto.CheckoutItemDto;
+import edu.yorku.sneaker_store_backend.dto.CheckoutRequestDto;
+import edu.yorku.sneaker_store_backend.dto.CheckoutResponseDto;
+import edu.yorku.sneaker_store_backend.model.Customer;
+import edu.yorku.sneaker_store_backend.model.Product;
+import edu.yorku.sneaker_store_backend.repository.CustomerRepository;
+import edu.yorku.sneaker_store_backend.repository.ProductRepository;
+import edu.yorku.sneaker_store_backend.service.outbox.OutboxDispatcher;
+import edu.yorku.sneaker_store_backend.service.payment.PaymentAuthorization;
+import edu.yorku.sneaker_store_backend.service.payment.PaymentGateway;
+import edu.yorku.sneaker_store_backend.service.payment.PaymentRequest;
+import edu.yorku.sneaker_store_backend.service.payment.PaymentUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks the reserve → authorize → confirm/compensate flow: the gateway is called with no
+ * transaction open and the stock already committed, and a failed payment puts the stock back.
+ */
+@SpringBootTest
+class CheckoutPaymentTests {
+
+    private static final int INITIAL_STOCK = 5;
+
+    @Autowired
+    private CheckoutService checkoutService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ScriptedPaymentGateway paymentGateway;
+
+    private Product product;
+    private Customer customer;
+
+    @BeforeEach
+    void seed() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        product = productRepository.save(Product.builder()
+                .sku("PAY-" + suffix)
+                .name("Payment Runner " + suffix)
+                .brand("Test")
+                .price(new BigDecimal("80.00"))
+                .stockQuantity(INITIAL_STOCK)
+                .build());
+        customer = customerRepository.save(Customer.builder()
+                .firstName("Pay")
+                .lastName("Test")
+                .email("pay-" + suffix + "@example.com")
+                .passwordHash("x")
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        outboxDispatcher.dispatch();
+        jdbcTemplate.update("DELETE FROM orders WHERE customer_id = ?", customer.getId());
+        jdbcTemplate.update("DELETE FROM products WHERE id = ?", product.getId());
+        jdbcTemplate.update("DELETE FROM customers WHERE id = ?", customer.getId());
+    }
+
+    @Test
+    void paymentIsAuthorizedOutsideAnyTransaction() {
+        paymentGateway.answer(request -> {
+            assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+            // The reservation has committed, so another connection already sees the stock taken.
+            assertThat(stock()).isEqualTo(INITIAL_STOCK - 2);
+            assertThat(orderStatus(request.reference())).isEqualTo("AWAITING_PAYMENT");
+            return CompletableFuture.completedFuture(PaymentAuthorization.approved("auth-1"));
+        });
+
+        CheckoutResponseDto response = checkoutService.checkout(checkout(2));
+
+        assertThat(response.getStatus()).isEqualTo("PAID");
+        assertThat(orderStatus(response.getOrderNumber())).isEqualTo("PAID");
+        assertThat(stock()).isEqualTo(INITIAL_STOCK - 2);
+    }
+
+    @Test
+    void declinedPaymentCancelsTheOrderAndReturnsStock() {
+        paymentGateway.answer(request ->
+                CompletableFuture.completedFuture(PaymentAuthorization.declined("Card declined")));
+
+        assertThatThrownBy(() -> checkoutService.checkout(checkout(3)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Card declined");
+
+        assertThat(stock()).isEqualTo(INITIAL_STOCK);
+        assertThat(orderStatuses()).containsExactly("CANCELLED");
+    }
+
+    @Test
+    void unavailableGatewayCancelsTheOrderAndReturnsStock() {
+        paymentGateway.answer(request ->
+                CompletableFuture.failedFuture(new PaymentUnavailableException("Gateway down")));
+
+        assertThatThrownBy(() -> checkoutService.checkout(checkout(1)))
+                .isInstanceOf(PaymentUnavailableException.class);
+
+        assertThat(stock()).isEqualTo(INITIAL_STOCK);
+        assertThat(orderStatuses()).containsExactly("CANCELLED");
+    }
+
+    @Test
+    void failedConfirmationVoidsTheAuthorization() {
+        paymentGateway.answer(request -> {
+            // The abandoned-checkout sweep gets there first, so the confirmation cannot commit.
+            jdbcTemplate.update("UPDATE orders SET status = 'CANCELLED' WHERE order_number = ?", request.reference());
+            return CompletableFuture.completedFuture(PaymentAuthorization.approved("auth-late"));
+        });
+
+        assertThatThrownBy(() -> checkoutService.checkout(checkout(1)))
+                .isInstanceOf(PaymentUnavailableException.class);
+
+        assertThat(paymentGateway.voided()).containsExactly("auth-late");
+        assertThat(orderStatuses()).containsExactly("CANCELLED");
+    }
+
+    @Test
+    void savedCardDetailsAreWrittenWithTheOrderAndNeverQueued() {
+        paymentGateway.answer(request ->
+                CompletableFuture.completedFuture(PaymentAuthorization.approved("auth-card")));
+        CheckoutRequestDto request = checkout(1);
+        request.setSavePaymentInfo(true);
+        request.setCardHolder("Pay Test");
+        request.setCardNumber("4111111111111111");
+        request.setCardExpiry("12/30");
+        request.setCardCvv("123");
+
+        checkoutService.checkout(request);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT credit_card_number FROM customers WHERE id = ?",
+                String.class, customer.getId())).isEqualTo("4111111111111111");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM outbox_events WHERE payload LIKE '%4111111111111111%'", Integer.class)).isZero();
+    }
+
+    private int stock() {
+        return jdbcTemplate.queryForObject("SELECT stock_quantity FROM products WHERE id = ?", Integer.class,
+                product.getId());
+    }
+
+    private String orderStatus(String orderNumber) {
+        return jdbcTemplate.queryForObject("SELECT status FROM orders WHERE order_number = ?", String.class,
+                orderNumber);
+    }
+
+    private List<String> orderStatuses() {
+        return jdbcTemplate.queryForList("SELECT status FROM orders WHERE customer_id = ?", String.class,
+                customer.getId());
+    }
+
+    private CheckoutRequestDto checkout(int quantity) {
+        return CheckoutRequestDto.builder()
+                .customerId(customer.getId())
+                .paymentMethod("CARD")
+                .items(List.of(CheckoutItemDto.builder()
+                        .productId(product.getId())
+                        .quantity(quantity)
+                        .build()))
+                .build();
+    }
+
+    static class ScriptedPaymentGateway implements PaymentGateway {
+
+        private final List<String> voided = new CopyOnWriteArrayList<>();
+        private volatile Function<PaymentRequest, CompletableFuture<PaymentAuthorization>> script;
+
+        void answer(Function<PaymentRequest, CompletableFuture<PaymentAuthorization>> script) {
+            this.script = script;
+            voided.clear();
+        }
+
+        List<String> voided() {
+            return voided;
+        }
+
+        @Override
+        public CompletableFuture<PaymentAuthorization> authorize(PaymentRequest request) {
+            return script.apply(request);
+        }
+
+        @Override
+        public CompletableFuture<Void> voidAuthorization(String authorizationId) {
+            voided.add(authorizationId);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    @TestConfiguration
+    static class GatewayConfig {
+
+        @Bean
+        @Primary
+        ScriptedPaymentGateway scriptedPaymentGateway() {
+            return new ScriptedPaymentGateway();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package edu.yorku.sneaker_store_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.yorku.sneaker_store_backend.dto.ImportReportDto;
+import edu.yorku.sneaker_store_backend.dto.ImportRowResultDto;
+import edu.yorku.sneaker_store_backend.service.catalog.CatalogReadModel;
+import edu.yorku.sneaker_store_backend.service.export.ExportFormat;
+import edu.yorku.sneaker_store_backend.service.reservation.HotSkuReservationEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@SpringBootTest
+@Transactional
+class ProductImportServiceTests {
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String prefix;
+
+    @BeforeEach
+    void uniqueSkus() {
+        prefix = "IMP-" + UUID.randomUUID().toString().substring(0, 8) + "-";
+    }
+
+    @Test
+    void invalidRowsAreRejectedWithEveryProblemAndTheRestAreWritten() {
+        ImportReportDto report = importCsv("""
+                sku,name,price,stockQuantity
+                %1$sA,Valid Runner,120.00,5
+                ,No Sku,10,1
+                %1$sB,Bad Numbers,abc,x
+                %1$sC,Negative,-1,-2
+                %1$sD,Fractions,1.234,3
+                %1$sE,,10,
+                """.formatted(prefix));
+
+        assertThat(report.getTotal()).isEqualTo(6);
+        assertThat(report.getUpserted()).isEqualTo(1);
+        assertThat(report.getRejected()).isEqualTo(5);
+        assertThat(report.getSkipped()).isZero();
+
+        assertThat(row(report, 2).getStatus()).isEqualTo("UPSERTED");
+        assertThat(row(report, 3).getMessage()).isEqualTo("sku is required");
+        assertThat(row(report, 4).getMessage()).contains("price is not a number", "stockQuantity is not a whole number");
+        assertThat(row(report, 5).getMessage()).contains("price must be between", "stockQuantity cannot be negative");
+        assertThat(row(report, 6).getMessage()).contains("at most two decimals");
+        assertThat(row(report, 7).getMessage()).contains("name is required", "stockQuantity is required");
+        assertThat(row(report, 7).getSku()).isEqualTo(prefix + "E");
+        report.getRows().stream()
+                .filter(result -> result.getStatus().equals("REJECTED"))
+                .forEach(result -> assertThat(result.getMessage()).isNotBlank());
+
+        assertThat(productCount()).isEqualTo(1);
+    }
+
+    @Test
+    void malformedNdjsonLinesAreRejectedWithTheirLineNumbers() {
+        ImportReportDto report = importNdjson("""
+                {"sku": "%1$sA", "name": "Json Runner", "price": 99.5, "stock_quantity": 4}
+
+                {"sku": "%1$sB", "name": "Broken",
+                ["not", "an", "object"]
+                """.formatted(prefix));
+
+        assertThat(report.getTotal()).isEqualTo(3);
+        assertThat(row(report, 1).getStatus()).isEqualTo("UPSERTED");
+        assertThat(row(report, 3).getMessage()).startsWith("Malformed JSON");
+        assertThat(row(report, 4).getMessage()).isEqualTo("Each line must be a JSON object");
+        assertThat(productCount()).isEqualTo(1);
+    }
+
+    @Test
+    void aRepeatedSkuIsWrittenOnceWithItsLastValidRow() {
+        ImportReportDto report = importCsv("""
+                sku,name,price,stockQuantity
+                %1$sA,First,10.00,1
+                %1$sB,Only Valid,20.00,2
+                %1$sA,Second,11.00,1
+                %1$sB,Invalid Later,oops,2
+                %1$sA,Third,12.00,3
+                """.formatted(prefix));
+
+        assertThat(report.getUpserted()).isEqualTo(2);
+        assertThat(report.getSkipped()).isEqualTo(2);
+        assertThat(report.getRejected()).isEqualTo(1);
+        assertThat(row(report, 2).getStatus()).isEqualTo("SKIPPED");
+        assertThat(row(report, 2).getMessage()).isEqualTo("SKU appears again later in the file");
+        assertThat(row(report, 3).getStatus()).isEqualTo("UPSERTED");
+        assertThat(row(report, 4).getStatus()).isEqualTo("SKIPPED");
+        assertThat(row(report, 5).getStatus()).isEqualTo("REJECTED");
+        assertThat(row(report, 6).getStatus()).isEqualTo("UPSERTED");
+
+        assertThat(product("A").get("name")).isEqualTo("Third");
+        assertThat(product("A").get("stock_quantity")).isEqualTo(3);
+        assertThat(product("B").get("name")).isEqualTo("Only Valid");
+        assertThat(productCount()).isEqualTo(2);
+    }
+
+    @Test
+    void existingSkusAreUpdatedInPlaceAndTheirSneakerFollows() {
+        importCsv("""
+                sku,name,brand,price,stockQuantity
+                %1$sA,Original,Brand,50.00,5
+                """.formatted(prefix));
+        Long id = ((Number) product("A").get("id")).longValue();
+
+        ImportReportDto report = importCsv("""
+                SKU,Name,Brand,Price,Stock_Quantity,Image_Url
+                %1$sA,Renamed,Brand,55.00,8,https://example.com/a.png
+                """.formatted(prefix));
+
+        Map<String, Object> updated = product("A");
+        assertThat(report.getUpserted()).isEqualTo(1);
+        assertThat(((Number) updated.get("id")).longValue()).isEqualTo(id);
+        assertThat(updated.get("name")).isEqualTo("Renamed");
+        assertThat((BigDecimal) updated.get("price")).isEqualByComparingTo("55.00");
+        assertThat(updated.get("stock_quantity")).isEqualTo(8);
+        assertThat(updated.get("image_url")).isEqualTo("https://example.com/a.png");
+        assertThat(productCount()).isEqualTo(1);
+
+        Map<String, Object> sneaker = jdbcTemplate.queryForMap(
+                "SELECT name, price, stock FROM sneakers WHERE product_id = ?", id);
+        assertThat(sneaker.get("name")).isEqualTo("Renamed");
+        assertThat((BigDecimal) sneaker.get("price")).isEqualByComparingTo("55.00");
+        assertThat(sneaker.get("stock")).isEqualTo(8);
+    }
+
+    @Test
+    void csvWithoutTheRequiredColumnsIsRefused() {
+        assertThatThrownBy(() -> importCsv("sku,name,price\n%sA,No Stock,1\n".formatted(prefix)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("stockQuantity");
+    }
+
+    @Test
+    void aFailedWriteRaisesInsteadOfReportingRowsAsUpserted() {
+        JdbcTemplate failing = mock(JdbcTemplate.class);
+        doThrow(new DataIntegrityViolationException("write failed"))
+                .when(failing).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+        CatalogReadModel catalogReadModel = mock(CatalogReadModel.class);
+        HotSkuReservationEngine reservationEngine = mock(HotSkuReservationEngine.class);
+        ProductImportService service = new ProductImportService(failing, objectMapper, catalogReadModel,
+                reservationEngine);
+
+        assertThatThrownBy(() -> service.importProducts(ExportFormat.CSV, input("""
+                sku,name,price,stockQuantity
+                %sA,Never Written,10.00,1
+                """.formatted(prefix))))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        verifyNoInteractions(catalogReadModel, reservationEngine);
+    }
+
+    private ImportReportDto importCsv(String text) {
+        return productImportService.importProducts(ExportFormat.CSV, input(text));
+    }
+
+    private ImportReportDto importNdjson(String text) {
+        return productImportService.importProducts(ExportFormat.NDJSON, input(text));
+    }
+
+    private static ByteArrayInputStream input(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ImportRowResultDto row(ImportReportDto report, int line) {
+        return report.getRows().stream()
+                .filter(result -> result.getLine() == line)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private Map<String, Object> product(String suffix) {
+        return jdbcTemplate.queryForMap("SELECT id, name, price, stock_quantity, image_url FROM products WHERE sku = ?",
+                prefix + suffix);
+    }
+
+    private int productCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products WHERE sku LIKE ?", Integer.class,
+                prefix + "%");
+    }
+}
@@ -0,0 +1,77 @@
+package edu.yorku.sneaker_store_backend.service;
+
+import edu.yorku.sneaker_store_backend.model.Sneaker;
+import edu.yorku.sneaker_store_backend.repository.SneakerRepository;
+import edu.yorku.sneaker_store_backend.service.catalog.CatalogReadModel;
+import edu.yorku.sneaker_store_backend.service.catalog.CatalogSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Multi-get against a small fixed snapshot.
+ */
+class SneakerServiceTests {
+
+    private final SneakerService sneakerService =
+            new SneakerService(mock(SneakerRepository.class), mock(CatalogReadModel.class));
+
+    private final CatalogSnapshot snapshot = CatalogSnapshot.of(
+            LongStream.rangeClosed(1, 5).mapToObj(SneakerServiceTests::sneaker).toList(), 1L, Instant.EPOCH);
+
+    @Test
+    void findByIdsKeepsTheRequestedOrder() {
+        assertThat(ids(sneakerService.findByIds(snapshot, List.of(4L, 1L, 5L, 2L)))).containsExactly(4L, 1L, 5L, 2L);
+    }
+
+    @Test
+    void findByIdsReturnsRepeatedIdsOnceAtTheirFirstPosition() {
+        assertThat(ids(sneakerService.findByIds(snapshot, List.of(3L, 1L, 3L, 1L, 2L)))).containsExactly(3L, 1L, 2L);
+    }
+
+    @Test
+    void findByIdsSkipsUnknownIds() {
+        assertThat(ids(sneakerService.findByIds(snapshot, List.of(42L, 2L, 0L, 5L)))).containsExactly(2L, 5L);
+        assertThat(sneakerService.findByIds(snapshot, List.of(42L))).isEmpty();
+        assertThat(sneakerService.findByIds(snapshot, List.of())).isEmpty();
+    }
+
+    @Test
+    void findByIdsCapsDistinctIdsAtFiveHundred() {
+        List<Long> atCap = LongStream.rangeClosed(1, 500).boxed().toList();
+        List<Long> overCap = LongStream.rangeClosed(1, 501).boxed().toList();
+
+        assertThat(ids(sneakerService.findByIds(snapshot, atCap))).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThatThrownBy(() -> sneakerService.findByIds(snapshot, overCap))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("500");
+    }
+
+    @Test
+    void findByIdsCountsTheCapAfterRemovingDuplicates() {
+        List<Long> repeated = LongStream.range(0, 1000).mapToObj(i -> 1 + i % 5).toList();
+
+        assertThat(ids(sneakerService.findByIds(snapshot, repeated))).containsExactly(1L, 2L, 3L, 4L, 5L);
+    }
+
+    private static List<Long> ids(List<Sneaker> sneakers) {
+        return sneakers.stream().map(Sneaker::getId).toList();
+    }
+
+    private static Sneaker sneaker(long id) {
+        return Sneaker.builder()
+                .id(id)
+                .name("Sneaker " + id)
+                .brand("Test")
+                .price(new BigDecimal("100.00"))
+                .stock(1)
+                .build();
+    }
+}
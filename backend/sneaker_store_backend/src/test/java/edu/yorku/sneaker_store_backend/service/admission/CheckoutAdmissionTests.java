@@ -0,0 +1,165 @@
+package edu.yorku.sneaker_store_backend.service.admission;
+
+import edu.yorku.sneaker_store_backend.dto.CheckoutItemDto;
+import edu.yorku.sneaker_store_backend.dto.CheckoutRequestDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CheckoutAdmissionTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CheckoutAdmission admission;
+
+    @AfterEach
+    void shutdown() {
+        if (admission != null) {
+            admission.shutdown();
+        }
+    }
+
+    @Test
+    void checkoutsForTheSameProductRunOneAtATime() throws Exception {
+        admission = new CheckoutAdmission(meterRegistry, true, 4, 100, Duration.ofSeconds(10));
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                int attempt = i;
+                results.add(callers.submit(() -> admission.submit(request(42L), () -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    sleep(2);
+                    running.decrementAndGet();
+                    return attempt;
+                })));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertThat(results.get(i).get(10, TimeUnit.SECONDS)).isEqualTo(i);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertThat(maxRunning.get()).isEqualTo(1);
+    }
+
+    @Test
+    void fullPartitionRejectsImmediately() throws Exception {
+        admission = new CheckoutAdmission(meterRegistry, true, 1, 1, Duration.ofSeconds(10));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> blocker = callers.submit(() -> admission.submit(request(1L), () -> {
+                started.countDown();
+                await(release);
+                return "first";
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<String> queued = callers.submit(() -> admission.submit(request(1L), () -> "second"));
+            waitForQueueDepth(1);
+
+            assertThatThrownBy(() -> admission.submit(request(1L), () -> "third"))
+                    .isInstanceOf(AdmissionRejectedException.class);
+
+            release.countDown();
+            assertThat(blocker.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+            assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("second");
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+        }
+        assertThat(meterRegistry.get("checkout.admission.rejected").tag("reason", "queue_full").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void requestsThatWaitTooLongAreWithdrawn() throws Exception {
+        admission = new CheckoutAdmission(meterRegistry, true, 1, 10, Duration.ofMillis(100));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executed = new AtomicInteger();
+
+        ExecutorService callers = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> blocker = callers.submit(() -> admission.submit(request(1L), () -> {
+                started.countDown();
+                await(release);
+                return "first";
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> admission.submit(request(1L), () -> {
+                executed.incrementAndGet();
+                return "late";
+            })).isInstanceOf(AdmissionRejectedException.class);
+
+            release.countDown();
+            blocker.get(5, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+        }
+        assertThat(executed.get()).isZero();
+    }
+
+    @Test
+    void partitionKeyIgnoresLineOrder() {
+        CheckoutRequestDto first = CheckoutRequestDto.builder()
+                .items(List.of(item(7L, null), item(null, "AJ1-CHI")))
+                .build();
+        CheckoutRequestDto second = CheckoutRequestDto.builder()
+                .items(List.of(item(null, "AJ1-CHI"), item(7L, null)))
+                .build();
+
+        assertThat(CheckoutAdmission.partitionKey(first)).isEqualTo(CheckoutAdmission.partitionKey(second));
+    }
+
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("checkout.admission.queue").gauge().value() != depth) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private static CheckoutRequestDto request(Long productId) {
+        return CheckoutRequestDto.builder().items(List.of(item(productId, null))).build();
+    }
+
+    private static CheckoutItemDto item(Long productId, String sku) {
+        return CheckoutItemDto.builder().productId(productId).sku(sku).quantity(1).build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package edu.yorku.sneaker_store_backend.service.catalog;
+
+import edu.yorku.sneaker_store_backend.dto.SneakerFacetsDto;
+import edu.yorku.sneaker_store_backend.model.Sneaker;
+import edu.yorku.sneaker_store_backend.repository.SneakerRepository;
+import edu.yorku.sneaker_store_backend.service.SneakerService;
+import edu.yorku.sneaker_store_backend.service.dto.SneakerQueryParams;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Facet counts over a small fixed snapshot: each facet ignores its own filter and applies every other one.
+ */
+class CatalogFacetCountsTests {
+
+    private final CatalogSnapshot snapshot = CatalogSnapshot.of(List.of(
+            sneaker(1L, "Nike", "Black", "Running", "Men", "100.00", 3),
+            sneaker(2L, "Nike", "White", "Lifestyle", "Women", "150.00", 3),
+            sneaker(3L, "Adidas", "Black", "Running", "Men", "90.00", 3),
+            sneaker(4L, "Adidas", "White", "Running", "Women", "200.00", 0),
+            sneaker(5L, "Puma", "Black", "Lifestyle", "Men", "60.00", 3),
+            sneaker(6L, "Nike", "Black", "Running", "Women", "120.00", 3)), 1L, Instant.EPOCH);
+
+    private final CatalogReadModel catalogReadModel = mock(CatalogReadModel.class);
+
+    private final SneakerService sneakerService = new SneakerService(mock(SneakerRepository.class), catalogReadModel);
+
+    @Test
+    void withoutFiltersEveryValueCountsAllItsRows() {
+        Map<CatalogFacet, Map<String, Integer>> counts = snapshot.facetCounts(SneakerQueryParams.builder().build(), null);
+
+        assertThat(counts.get(CatalogFacet.BRAND)).containsOnly(entry("Adidas", 2), entry("Nike", 3), entry("Puma", 1));
+        assertThat(counts.get(CatalogFacet.COLORWAY)).containsOnly(entry("Black", 4), entry("White", 2));
+        assertThat(counts.get(CatalogFacet.CATEGORY)).containsOnly(entry("Lifestyle", 2), entry("Running", 4));
+        assertThat(counts.get(CatalogFacet.GENRE)).containsOnly(entry("Men", 3), entry("Women", 3));
+    }
+
+    @Test
+    void aFacetsOwnFilterIsLeftOutOfItsCounts() {
+        SneakerQueryParams nike = SneakerQueryParams.builder().brand("  nIKE ").build();
+
+        Map<CatalogFacet, Map<String, Integer>> counts = snapshot.facetCounts(nike, null);
+
+        assertThat(counts.get(CatalogFacet.BRAND)).containsOnly(entry("Adidas", 2), entry("Nike", 3), entry("Puma", 1));
+        assertThat(counts.get(CatalogFacet.COLORWAY)).containsOnly(entry("Black", 2), entry("White", 1));
+        assertThat(counts.get(CatalogFacet.CATEGORY)).containsOnly(entry("Lifestyle", 1), entry("Running", 2));
+        assertThat(counts.get(CatalogFacet.GENRE)).containsOnly(entry("Men", 1), entry("Women", 2));
+    }
+
+    @Test
+    void everyOtherFacetFilterStillApplies() {
+        SneakerQueryParams nikeInBlack = SneakerQueryParams.builder().brand("Nike").colorway("Black").build();
+
+        Map<CatalogFacet, Map<String, Integer>> counts = snapshot.facetCounts(nikeInBlack, null);
+
+        assertThat(counts.get(CatalogFacet.BRAND)).containsOnly(entry("Adidas", 1), entry("Nike", 2), entry("Puma", 1));
+        assertThat(counts.get(CatalogFacet.COLORWAY)).containsOnly(entry("Black", 2), entry("White", 1));
+        assertThat(counts.get(CatalogFacet.CATEGORY)).containsOnly(entry("Lifestyle", 0), entry("Running", 2));
+        assertThat(counts.get(CatalogFacet.GENRE)).containsOnly(entry("Men", 1), entry("Women", 1));
+    }
+
+    @Test
+    void priceAndStockFiltersNarrowEveryFacet() {
+        SneakerQueryParams params = SneakerQueryParams.builder()
+                .brand("Adidas")
+                .minPrice(new BigDecimal("100"))
+                .inStockOnly(true)
+                .build();
+
+        Map<CatalogFacet, Map<String, Integer>> counts = snapshot.facetCounts(params, null);
+
+        assertThat(counts.get(CatalogFacet.BRAND)).containsOnly(entry("Adidas", 0), entry("Nike", 3), entry("Puma", 0));
+        assertThat(counts.get(CatalogFacet.COLORWAY)).containsOnly(entry("Black", 0), entry("White", 0));
+    }
+
+    @Test
+    void unknownFilterValueEmptiesTheOtherFacetsButNotItsOwn() {
+        SneakerQueryParams reebok = SneakerQueryParams.builder().brand("Reebok").build();
+
+        Map<CatalogFacet, Map<String, Integer>> counts = snapshot.facetCounts(reebok, null);
+
+        assertThat(counts.get(CatalogFacet.BRAND)).containsOnly(entry("Adidas", 2), entry("Nike", 3), entry("Puma", 1));
+        assertThat(counts.get(CatalogFacet.GENRE)).containsOnly(entry("Men", 0), entry("Women", 0));
+    }
+
+    @Test
+    void keywordNarrowsEveryFacetIncludingTheFilteredOne() {
+        when(catalogReadModel.search("black")).thenReturn(Map.of(3L, 1, 5L, 1, 6L, 1));
+        SneakerQueryParams params = SneakerQueryParams.builder().keyword("black").brand("Nike").build();
+
+        SneakerFacetsDto facets = sneakerService.facets(snapshot, params);
+
+        assertThat(facets.getTotal()).isEqualTo(1);
+        assertThat(facets.getBrands()).containsOnly(entry("Adidas", 1), entry("Nike", 1), entry("Puma", 1));
+        assertThat(facets.getColorways()).containsOnly(entry("Black", 1), entry("White", 0));
+        assertThat(facets.getCategories()).containsOnly(entry("Lifestyle", 0), entry("Running", 1));
+        assertThat(facets.getGenres()).containsOnly(entry("Men", 0), entry("Women", 1));
+    }
+
+    private static Sneaker sneaker(Long id, String brand, String colorway, String category, String genre,
+                                   String price, int stock) {
+        return Sneaker.builder()
+                .id(id)
+                .name(brand + " " + id)
+                .brand(brand)
+                .colorway(colorway)
+                .category(category)
+                .genre(genre)
+                .price(new BigDecimal(price))
+                .stock(stock)
+                .build();
+    }
+}
@@ -0,0 +1,140 @@
+package edu.yorku.sneaker_store_backend.service.catalog;
+
+import edu.yorku.sneaker_store_backend.dto.SneakerPageDto;
+import edu.yorku.sneaker_store_backend.model.Sneaker;
+import edu.yorku.sneaker_store_backend.repository.SneakerRepository;
+import edu.yorku.sneaker_store_backend.service.SneakerService;
+import edu.yorku.sneaker_store_backend.service.dto.SneakerQueryParams;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Keyset pagination over a small fixed snapshot where several rows share a sort key, so page
+ * boundaries fall between equal names and prices.
+ */
+class CatalogPaginationTests {
+
+    private static final List<Sneaker> CATALOG = List.of(
+            sneaker(1L, "Blazer", "80.00"),
+            sneaker(2L, "Air", "120.00"),
+            sneaker(3L, "Cortez", "80.00"),
+            sneaker(4L, "blazer", "120.00"),
+            sneaker(5L, "Air", "80.00"),
+            sneaker(6L, "Cortez", "150.00"),
+            sneaker(7L, "Air", "120.00"));
+
+    private final SneakerService sneakerService =
+            new SneakerService(mock(SneakerRepository.class), mock(CatalogReadModel.class));
+
+    private final CatalogSnapshot snapshot = CatalogSnapshot.of(CATALOG, 1L, Instant.EPOCH);
+
+    @Test
+    void equalNamesAreSplitAcrossPagesByIdWithoutGapsOrRepeats() {
+        assertThat(walk(snapshot, null, null, 2)).containsExactly(2L, 5L, 7L, 1L, 4L, 3L, 6L);
+        assertThat(walk(snapshot, "name", "desc", 2)).containsExactly(6L, 3L, 4L, 1L, 7L, 5L, 2L);
+    }
+
+    @Test
+    void equalPricesAreSplitAcrossPagesByIdWithoutGapsOrRepeats() {
+        assertThat(walk(snapshot, "price", "asc", 2)).containsExactly(1L, 3L, 5L, 2L, 4L, 7L, 6L);
+        assertThat(walk(snapshot, "price", "desc", 3)).containsExactly(6L, 7L, 4L, 2L, 5L, 3L, 1L);
+    }
+
+    @Test
+    void everyPageSizeServesTheSameSequenceAsAnUnpagedSelect() {
+        CatalogSort byPrice = new CatalogSort(CatalogSort.Field.PRICE, true);
+        List<Long> unpaged = snapshot.select(snapshot.match(params(null, null, null, null)), byPrice).stream()
+                .map(Sneaker::getId)
+                .toList();
+
+        for (int limit = 1; limit <= CATALOG.size() + 1; limit++) {
+            assertThat(walk(snapshot, "price", "desc", limit)).as("limit %d", limit).isEqualTo(unpaged);
+        }
+    }
+
+    @Test
+    void lastPageHasNoNextCursor() {
+        SneakerPageDto full = sneakerService.findPage(snapshot, params(null, null, CATALOG.size(), null));
+        assertThat(full.getItems()).hasSize(CATALOG.size());
+        assertThat(full.getNextCursor()).isNull();
+
+        SneakerPageDto first = sneakerService.findPage(snapshot, params(null, null, 4, null));
+        SneakerPageDto last = sneakerService.findPage(snapshot, params(null, null, 4, first.getNextCursor()));
+        assertThat(first.getNextCursor()).isNotNull();
+        assertThat(ids(last)).containsExactly(4L, 3L, 6L);
+        assertThat(last.getNextCursor()).isNull();
+    }
+
+    @Test
+    void cursorStillResumesAfterItsRowIsDeleted() {
+        SneakerPageDto first = sneakerService.findPage(snapshot, params(null, null, 2, null));
+        assertThat(ids(first)).containsExactly(2L, 5L);
+
+        CatalogSnapshot withoutCursorRow = CatalogSnapshot.of(
+                CATALOG.stream().filter(sneaker -> sneaker.getId() != 5L).toList(), 2L, Instant.EPOCH);
+        SneakerPageDto next = sneakerService.findPage(withoutCursorRow, params(null, null, 2, first.getNextCursor()));
+
+        assertThat(ids(next)).containsExactly(7L, 1L);
+    }
+
+    @Test
+    void cursorIssuedForAnotherSortIsRejected() {
+        String byNameAscending = sneakerService.findPage(snapshot, params(null, null, 2, null)).getNextCursor();
+
+        assertThatThrownBy(() -> sneakerService.findPage(snapshot, params("price", "asc", 2, byNameAscending)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("sort order");
+        assertThatThrownBy(() -> sneakerService.findPage(snapshot, params("name", "desc", 2, byNameAscending)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("sort order");
+        assertThatThrownBy(() -> sneakerService.findPage(snapshot, params(null, null, 2, "not a cursor")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    /**
+     * Follows {@code nextCursor} until it runs out and returns every id served, in order.
+     */
+    private List<Long> walk(CatalogSnapshot catalog, String sortBy, String direction, int limit) {
+        List<Long> served = new ArrayList<>();
+        String cursor = null;
+        do {
+            SneakerPageDto page = sneakerService.findPage(catalog, params(sortBy, direction, limit, cursor));
+            assertThat(page.getItems()).hasSizeLessThanOrEqualTo(limit);
+            served.addAll(ids(page));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return served;
+    }
+
+    private static List<Long> ids(SneakerPageDto page) {
+        return page.getItems().stream().map(Sneaker::getId).toList();
+    }
+
+    private static SneakerQueryParams params(String sortBy, String direction, Integer limit, String after) {
+        return SneakerQueryParams.builder()
+                .sortBy(sortBy)
+                .sortDirection(direction)
+                .limit(limit)
+                .after(after)
+                .build();
+    }
+
+    private static Sneaker sneaker(Long id, String name, String price) {
+        return Sneaker.builder()
+                .id(id)
+                .name(name)
+                .brand("Test")
+                .price(new BigDecimal(price))
+                .stock(1)
+                .build();
+    }
+}
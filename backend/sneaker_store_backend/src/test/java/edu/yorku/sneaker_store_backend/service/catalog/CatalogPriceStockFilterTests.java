@@ -0,0 +1,111 @@
+package edu.yorku.sneaker_store_backend.service.catalog;
+
+import edu.yorku.sneaker_store_backend.model.Sneaker;
+import edu.yorku.sneaker_store_backend.service.dto.SneakerQueryParams;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The binary-searched price range and the in-stock bitmap, over a small fixed snapshot with
+ * repeated prices, a missing price and a missing stock level.
+ */
+class CatalogPriceStockFilterTests {
+
+    private final CatalogSnapshot snapshot = CatalogSnapshot.of(List.of(
+            sneaker(1L, "50.00", 1),
+            sneaker(2L, "80.00", 0),
+            sneaker(3L, "80.00", 2),
+            sneaker(4L, "120.00", null),
+            sneaker(5L, "200.00", 5),
+            sneaker(6L, null, 1)), 1L, Instant.EPOCH);
+
+    @Test
+    void boundsAreInclusive() {
+        assertThat(matching("80", "120")).containsExactly(2L, 3L, 4L);
+        assertThat(matching("50", null)).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(matching(null, "50")).containsExactly(1L);
+    }
+
+    @Test
+    void equalBoundsSelectExactlyThatPrice() {
+        assertThat(matching("80", "80")).containsExactly(2L, 3L);
+        assertThat(matching("80.0", "80.000")).containsExactly(2L, 3L);
+        assertThat(matching("81", "81")).isEmpty();
+    }
+
+    @Test
+    void boundsOutsideTheCatalogRange() {
+        assertThat(matching("0", "1000")).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(matching("10", "40")).isEmpty();
+        assertThat(matching("300", null)).isEmpty();
+        assertThat(matching(null, "49.99")).isEmpty();
+        assertThat(matching("200.01", "1000")).isEmpty();
+    }
+
+    @Test
+    void minAboveMaxMatchesNothing() {
+        assertThat(matching("120", "80")).isEmpty();
+        assertThat(matching("80.01", "80")).isEmpty();
+    }
+
+    @Test
+    void missingPricesOnlyMatchWithoutBounds() {
+        assertThat(matching(null, null)).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+        assertThat(matching("0", null)).doesNotContain(6L);
+        assertThat(matching(null, "1000")).doesNotContain(6L);
+    }
+
+    @Test
+    void inStockOnlySkipsZeroAndMissingStock() {
+        assertThat(ids(snapshot, SneakerQueryParams.builder().inStockOnly(true).build()))
+                .containsExactly(1L, 3L, 5L, 6L);
+        assertThat(ids(snapshot, SneakerQueryParams.builder().inStockOnly(false).build()))
+                .containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+        assertThat(ids(snapshot, SneakerQueryParams.builder()
+                .inStockOnly(true)
+                .minPrice(new BigDecimal("80"))
+                .maxPrice(new BigDecimal("120"))
+                .build()))
+                .containsExactly(3L);
+    }
+
+    @Test
+    void restockingPatchesTheInStockBitmapOfTheNewSnapshotOnly() {
+        CatalogSnapshot restocked = snapshot.withChanges(
+                List.of(sneaker(2L, "80.00", 4), sneaker(5L, "200.00", 0)), Set.of(), 2L, Instant.EPOCH);
+        SneakerQueryParams inStock = SneakerQueryParams.builder().inStockOnly(true).build();
+
+        assertThat(ids(restocked, inStock)).containsExactly(1L, 2L, 3L, 6L);
+        assertThat(ids(snapshot, inStock)).containsExactly(1L, 3L, 5L, 6L);
+        assertThat(ids(restocked, SneakerQueryParams.builder().minPrice(new BigDecimal("80")).build()))
+                .containsExactly(2L, 3L, 4L, 5L);
+    }
+
+    private List<Long> matching(String min, String max) {
+        return ids(snapshot, SneakerQueryParams.builder()
+                .minPrice(min != null ? new BigDecimal(min) : null)
+                .maxPrice(max != null ? new BigDecimal(max) : null)
+                .build());
+    }
+
+    private static List<Long> ids(CatalogSnapshot catalog, SneakerQueryParams params) {
+        List<Sneaker> rows = catalog.sneakers();
+        return catalog.match(params).stream().mapToObj(row -> rows.get(row).getId()).toList();
+    }
+
+    private static Sneaker sneaker(Long id, String price, Integer stock) {
+        return Sneaker.builder()
+                .id(id)
+                .name("Sneaker " + id)
+                .brand("Test")
+                .price(price != null ? new BigDecimal(price) : null)
+                .stock(stock)
+                .build();
+    }
+}
@@ -0,0 +1,85 @@
+package edu.yorku.sneaker_store_backend.service.catalog;
+
+import edu.yorku.sneaker_store_backend.model.Sneaker;
+import edu.yorku.sneaker_store_backend.repository.SneakerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The read model publishes what the database holds after the commit, not the values a writer
+ * happened to pass in, so a late after-commit callback can never roll a row back.
+ */
+@SpringBootTest
+class CatalogReadModelTests {
+
+    @Autowired
+    private CatalogReadModel catalogReadModel;
+
+    @Autowired
+    private SneakerRepository sneakerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Sneaker sneaker;
+
+    @BeforeEach
+    void seed() {
+        sneaker = sneakerRepository.save(Sneaker.builder()
+                .name("Read Model Probe")
+                .brand("Probe")
+                .price(new BigDecimal("150.00"))
+                .stock(5)
+                .availableSizes(List.of("9", "10"))
+                .build());
+        catalogReadModel.upsert(sneaker);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        sneakerRepository.deleteById(sneaker.getId());
+        catalogReadModel.remove(sneaker.getId());
+    }
+
+    @Test
+    void staleWriterValuesAreReplacedByTheCommittedRow() {
+        jdbcTemplate.update("UPDATE sneakers SET stock = 9 WHERE id = ?", sneaker.getId());
+        Sneaker stale = sneakerRepository.findById(sneaker.getId()).orElseThrow();
+        stale.setStock(7);
+
+        catalogReadModel.upsert(stale);
+
+        assertThat(catalogReadModel.snapshot().findById(sneaker.getId()).getStock()).isEqualTo(9);
+    }
+
+    @Test
+    void stockOnlyChangesKeepTheRestOfTheSnapshot() {
+        CatalogSnapshot before = catalogReadModel.snapshot();
+        jdbcTemplate.update("UPDATE sneakers SET stock = 0 WHERE id = ?", sneaker.getId());
+
+        catalogReadModel.upsert(sneaker);
+
+        CatalogSnapshot after = catalogReadModel.snapshot();
+        assertThat(after.version()).isGreaterThan(before.version());
+        assertThat(after.size()).isEqualTo(before.size());
+        assertThat(after.findById(sneaker.getId()).getStock()).isZero();
+    }
+
+    @Test
+    void deletedRowsAreRemoved() {
+        jdbcTemplate.update("DELETE FROM sneakers WHERE id = ?", sneaker.getId());
+
+        catalogReadModel.upsert(sneaker);
+
+        assertThat(catalogReadModel.snapshot().findById(sneaker.getId())).isNull();
+    }
+}
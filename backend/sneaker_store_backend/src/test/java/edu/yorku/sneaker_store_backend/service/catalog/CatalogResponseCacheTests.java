@@ -0,0 +1,138 @@
+package edu.yorku.sneaker_store_backend.service.catalog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.yorku.sneaker_store_backend.service.catalog.CatalogResponseCache.CachedResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CatalogResponseCacheTests {
+
+    /** A 100-character string serializes to 102 bytes of JSON, below the gzip threshold. */
+    private static final String SMALL = "x".repeat(100);
+
+    private final Map<String, AtomicInteger> renders = new ConcurrentHashMap<>();
+
+    @Test
+    void repeatedLookupsAreServedFromTheCache() {
+        CatalogResponseCache cache = new CatalogResponseCache(new ObjectMapper(), 1024);
+
+        CachedResponse first = cache.get(1L, List.of("list", "a"), body("a", SMALL));
+        CachedResponse second = cache.get(1L, List.of("list", "a"), body("a", SMALL));
+
+        assertThat(second).isSameAs(first);
+        assertThat(renders("a")).isEqualTo(1);
+        assertThat(first.version()).isEqualTo(1L);
+    }
+
+    @Test
+    void leastRecentlyUsedEntriesAreEvictedOnceTheByteBudgetIsExceeded() {
+        CatalogResponseCache cache = new CatalogResponseCache(new ObjectMapper(), 250);
+
+        cache.get(1L, "a", body("a", SMALL));
+        cache.get(1L, "b", body("b", SMALL));
+        cache.get(1L, "a", body("a", SMALL));
+        cache.get(1L, "c", body("c", SMALL));
+
+        cache.get(1L, "a", body("a", SMALL));
+        cache.get(1L, "c", body("c", SMALL));
+        assertThat(renders("a")).isEqualTo(1);
+        assertThat(renders("c")).isEqualTo(1);
+
+        cache.get(1L, "b", body("b", SMALL));
+        assertThat(renders("b")).isEqualTo(2);
+    }
+
+    @Test
+    void bodiesLargerThanTheBudgetAreServedButNotCached() {
+        CatalogResponseCache cache = new CatalogResponseCache(new ObjectMapper(), 50);
+
+        CachedResponse response = cache.get(1L, "a", body("a", SMALL));
+        cache.get(1L, "a", body("a", SMALL));
+
+        assertThat(response.json()).hasSize(102);
+        assertThat(renders("a")).isEqualTo(2);
+    }
+
+    @Test
+    void onlyBodiesAboveTheThresholdGetAGzipVariant() throws IOException {
+        CatalogResponseCache cache = new CatalogResponseCache(new ObjectMapper(), 1 << 20);
+
+        CachedResponse small = cache.get(1L, "small", body("small", SMALL));
+        CachedResponse large = cache.get(1L, "large", body("large", "sneaker ".repeat(200)));
+
+        assertThat(small.gzip()).isNull();
+        assertThat(large.gzip()).isNotNull();
+        assertThat(large.gzip().length).isLessThan(large.json().length);
+        assertThat(gunzip(large.gzip())).isEqualTo(large.json());
+    }
+
+    @Test
+    void aNewerVersionDropsEveryEntry() {
+        CatalogResponseCache cache = new CatalogResponseCache(new ObjectMapper(), 1024);
+        cache.get(1L, "a", body("a", SMALL));
+
+        CachedResponse afterWrite = cache.get(2L, "a", body("a", SMALL));
+        cache.get(2L, "a", body("a", SMALL));
+
+        assertThat(afterWrite.version()).isEqualTo(2L);
+        assertThat(renders("a")).isEqualTo(2);
+    }
+
+    @Test
+    void anOlderVersionIsRenderedWithoutTouchingTheCache() {
+        CatalogResponseCache cache = new CatalogResponseCache(new ObjectMapper(), 1024);
+        cache.get(2L, "a", body("a", SMALL));
+
+        CachedResponse stale = cache.get(1L, "a", body("a", SMALL));
+        cache.get(1L, "a", body("a", SMALL));
+        CachedResponse current = cache.get(2L, "a", body("a", SMALL));
+
+        assertThat(stale.version()).isEqualTo(1L);
+        assertThat(current.version()).isEqualTo(2L);
+        assertThat(renders("a")).isEqualTo(3);
+    }
+
+    @Test
+    void failedRendersAreNotCached() {
+        CatalogResponseCache cache = new CatalogResponseCache(new ObjectMapper(), 1024);
+        Supplier<Object> failing = () -> {
+            renders.computeIfAbsent("bad", ignored -> new AtomicInteger()).incrementAndGet();
+            throw new IllegalArgumentException("bad cursor");
+        };
+
+        assertThatThrownBy(() -> cache.get(1L, "bad", failing)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> cache.get(1L, "bad", failing)).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(renders("bad")).isEqualTo(2);
+    }
+
+    private Supplier<Object> body(String key, String value) {
+        return () -> {
+            renders.computeIfAbsent(key, ignored -> new AtomicInteger()).incrementAndGet();
+            return value;
+        };
+    }
+
+    private int renders(String key) {
+        AtomicInteger count = renders.get(key);
+        return count != null ? count.get() : 0;
+    }
+
+    private static byte[] gunzip(byte[] gzip) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            return in.readAllBytes();
+        }
+    }
+}
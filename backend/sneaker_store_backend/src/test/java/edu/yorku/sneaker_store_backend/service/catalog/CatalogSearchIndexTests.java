@@ -0,0 +1,87 @@
+package edu.yorku.sneaker_store_backend.service.catalog;
+
+import edu.yorku.sneaker_store_backend.model.Sneaker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogSearchIndexTests {
+
+    private final CatalogSearchIndex index = new CatalogSearchIndex();
+
+    @BeforeEach
+    void seed() {
+        index.rebuild(List.of(
+                sneaker(1L, "Air Jordan 1 Retro", "Nike", "Chicago Red", "Classic high top"),
+                sneaker(2L, "Air Max 90", "Nike", "Infrared", "Visible air unit"),
+                sneaker(3L, "Gel-Kayano 14", "ASICS", "Cream", "Runner with red accents")));
+    }
+
+    @Test
+    void tokenizeLowerCasesAndSplitsOnAnythingButLettersAndDigits() {
+        assertThat(CatalogSearchIndex.tokenize("Gel-Kayano 14 'HIGH'/Retro"))
+                .containsExactly("gel", "kayano", "14", "high", "retro");
+        assertThat(CatalogSearchIndex.tokenize("  -- ")).isEmpty();
+        assertThat(CatalogSearchIndex.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    void everyTokenMustMatch() {
+        assertThat(index.search("nike red").keySet()).containsExactly(1L);
+        assertThat(index.search("air").keySet()).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.search("nike cream")).isEmpty();
+    }
+
+    @Test
+    void tokensMatchTermsTheyPrefixButNotInnerSubstrings() {
+        assertThat(index.search("jor").keySet()).containsExactly(1L);
+        assertThat(index.search("KAYA").keySet()).containsExactly(3L);
+        assertThat(index.search("ordan")).isEmpty();
+        assertThat(index.search("red").keySet()).containsExactlyInAnyOrder(1L, 3L);
+    }
+
+    @Test
+    void blankQueriesMatchNothing() {
+        assertThat(index.search("")).isEmpty();
+        assertThat(index.search(" ,. ")).isEmpty();
+    }
+
+    @Test
+    void nameHitsOutrankDescriptionHitsAndExactTermsOutrankPrefixes() {
+        Map<Long, Integer> red = index.search("red");
+        assertThat(red.get(1L)).isGreaterThan(red.get(3L));
+
+        index.rebuild(List.of(
+                sneaker(10L, "Run", "Brand", null, null),
+                sneaker(11L, "Runner", "Brand", null, null)));
+        Map<Long, Integer> run = index.search("run");
+        assertThat(run.get(10L)).isGreaterThan(run.get(11L));
+    }
+
+    @Test
+    void reindexingReplacesOldTermsAndRemoveDropsTheSneaker() {
+        index.index(sneaker(2L, "Air Force 1", "Nike", "White", null));
+
+        assertThat(index.search("max")).isEmpty();
+        assertThat(index.search("force").keySet()).containsExactly(2L);
+
+        index.remove(1L);
+
+        assertThat(index.search("jordan")).isEmpty();
+        assertThat(index.search("air").keySet()).containsExactly(2L);
+    }
+
+    private static Sneaker sneaker(Long id, String name, String brand, String colorway, String description) {
+        return Sneaker.builder()
+                .id(id)
+                .name(name)
+                .brand(brand)
+                .colorway(colorway)
+                .description(description)
+                .build();
+    }
+}
@@ -0,0 +1,134 @@
+package edu.yorku.sneaker_store_backend.service.catalog;
+
+import edu.yorku.sneaker_store_backend.model.Sneaker;
+import edu.yorku.sneaker_store_backend.repository.SneakerRepository;
+import edu.yorku.sneaker_store_backend.service.SneakerService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class CatalogSuggestIndexTests {
+
+    private final CatalogSuggestIndex index = new CatalogSuggestIndex();
+
+    @Test
+    void phrasesCompleteFromTheStartOfAnyWord() {
+        index.rebuild(List.of(
+                sneaker(1L, "Air Jordan 1", "Nike", "Chicago"),
+                sneaker(2L, "Air Max 90", "Nike", "Infrared"),
+                sneaker(3L, "Airwalk One", "Airwalk", null)));
+
+        assertThat(index.suggest("jor", 10)).containsExactly("Air Jordan 1");
+        assertThat(index.suggest("AIR", 10)).containsExactly("Air Jordan 1", "Air Max 90", "Airwalk", "Airwalk One");
+        assertThat(index.suggest("air ", 10)).containsExactly("Air Jordan 1", "Air Max 90");
+        assertThat(index.suggest("ordan", 10)).isEmpty();
+        assertThat(index.suggest("  ", 10)).isEmpty();
+    }
+
+    @Test
+    void phrasesCarriedByMoreSneakersComeFirst() {
+        index.rebuild(List.of(
+                sneaker(1L, "Dunk Low", "Nike", "Panda"),
+                sneaker(2L, "Dunk High", "Nike", "Panda"),
+                sneaker(3L, "Dunk Low", "Nike", "Syracuse")));
+
+        assertThat(index.suggest("dunk", 10)).containsExactly("Dunk Low", "Dunk High");
+        assertThat(index.suggest("p", 10)).containsExactly("Panda");
+
+        index.remove(1L);
+
+        assertThat(index.suggest("dunk", 10)).containsExactly("Dunk High", "Dunk Low");
+    }
+
+    @Test
+    void removingTheLastSneakerWithAPhraseDropsIt() {
+        index.rebuild(List.of(sneaker(1L, "Gel Lyte III", "ASICS", null)));
+        index.index(sneaker(2L, "Gel Kayano 14", "ASICS", null));
+
+        assertThat(index.suggest("gel", 10)).containsExactly("Gel Kayano 14", "Gel Lyte III");
+
+        index.index(sneaker(2L, "Gel Nimbus", "ASICS", null));
+        index.remove(1L);
+
+        assertThat(index.suggest("gel", 10)).containsExactly("Gel Nimbus");
+        assertThat(index.suggest("kay", 10)).isEmpty();
+        assertThat(index.suggest("lyte", 10)).isEmpty();
+
+        index.remove(2L);
+        index.remove(99L);
+
+        assertThat(index.suggest("g", 10)).isEmpty();
+        assertThat(index.suggest("a", 10)).isEmpty();
+    }
+
+    @Test
+    void everyNodeRefillsItsTopListAfterRemovals() {
+        List<Sneaker> sneakers = new ArrayList<>();
+        for (long id = 1; id <= 12; id++) {
+            sneakers.add(sneaker(id, "Zoom %02d".formatted(id), null, null));
+        }
+        index.rebuild(sneakers);
+
+        assertThat(index.suggest("z", 10)).containsExactly(
+                "Zoom 01", "Zoom 02", "Zoom 03", "Zoom 04", "Zoom 05",
+                "Zoom 06", "Zoom 07", "Zoom 08", "Zoom 09", "Zoom 10");
+
+        index.remove(1L);
+        index.remove(2L);
+
+        assertThat(index.suggest("z", 10)).containsExactly(
+                "Zoom 03", "Zoom 04", "Zoom 05", "Zoom 06", "Zoom 07",
+                "Zoom 08", "Zoom 09", "Zoom 10", "Zoom 11", "Zoom 12");
+        assertThat(index.suggest("zoom 0", 10)).containsExactly(
+                "Zoom 03", "Zoom 04", "Zoom 05", "Zoom 06", "Zoom 07", "Zoom 08", "Zoom 09");
+        assertThat(index.suggest("1", 10)).containsExactly("Zoom 10", "Zoom 11", "Zoom 12");
+    }
+
+    @Test
+    void limitCapsTheNumberOfCompletions() {
+        List<Sneaker> sneakers = new ArrayList<>();
+        for (long id = 1; id <= 12; id++) {
+            sneakers.add(sneaker(id, "Zoom %02d".formatted(id), null, null));
+        }
+        index.rebuild(sneakers);
+
+        assertThat(index.suggest("zoom", 1)).containsExactly("Zoom 01");
+        assertThat(index.suggest("zoom", 3)).containsExactly("Zoom 01", "Zoom 02", "Zoom 03");
+        assertThat(index.suggest("zoom", CatalogSuggestIndex.MAX_SUGGESTIONS)).hasSize(CatalogSuggestIndex.MAX_SUGGESTIONS);
+        assertThat(index.suggest("zoom 1", CatalogSuggestIndex.MAX_SUGGESTIONS)).hasSize(3);
+    }
+
+    @Test
+    void serviceRejectsLimitsOutsideOneToTheNodeCapacity() {
+        CatalogReadModel catalogReadModel = mock(CatalogReadModel.class);
+        SneakerService sneakerService = new SneakerService(mock(SneakerRepository.class), catalogReadModel);
+
+        assertThatThrownBy(() -> sneakerService.suggest("air", 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> sneakerService.suggest("air", CatalogSuggestIndex.MAX_SUGGESTIONS + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(sneakerService.suggest(" ", 5)).isEmpty();
+        verifyNoInteractions(catalogReadModel);
+
+        sneakerService.suggest("air", CatalogSuggestIndex.MAX_SUGGESTIONS);
+        sneakerService.suggest("max", null);
+
+        verify(catalogReadModel).suggest("air", CatalogSuggestIndex.MAX_SUGGESTIONS);
+        verify(catalogReadModel).suggest("max", 8);
+    }
+
+    private static Sneaker sneaker(Long id, String name, String brand, String colorway) {
+        return Sneaker.builder()
+                .id(id)
+                .name(name)
+                .brand(brand)
+                .colorway(colorway)
+                .build();
+    }
+}
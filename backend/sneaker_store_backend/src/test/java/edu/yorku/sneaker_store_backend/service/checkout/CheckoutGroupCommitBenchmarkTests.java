@@ -0,0 +1,141 @@
+package edu.yorku.sneaker_store_backend.service.checkout;
+
+import edu.yorku.sneaker_store_backend.SneakerStoreBackendApplication;
+import edu.yorku.sneaker_store_backend.dto.CheckoutItemDto;
+import edu.yorku.sneaker_store_backend.dto.CheckoutRequestDto;
+import edu.yorku.sneaker_store_backend.model.Customer;
+import edu.yorku.sneaker_store_backend.model.Product;
+import edu.yorku.sneaker_store_backend.repository.CustomerRepository;
+import edu.yorku.sneaker_store_backend.repository.ProductRepository;
+import edu.yorku.sneaker_store_backend.service.CheckoutService;
+import edu.yorku.sneaker_store_backend.service.outbox.OutboxDispatcher;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checkout throughput with one commit per checkout versus group commit, each measured in a fresh
+ * application context against the configured database. Checkouts per second for both modes and the
+ * {@code checkout.group_commit.size} distribution are published as report entries rather than
+ * asserted, since they depend on the machine. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class CheckoutGroupCommitBenchmarkTests {
+
+    private static final int PRODUCTS = 64;
+    private static final int THREADS = 32;
+    private static final int WARMUP_CHECKOUTS = 400;
+    private static final int CHECKOUTS = 4_000;
+
+    @Test
+    void compareCheckoutThroughputWithAndWithoutGroupCommit(TestReporter reporter) throws Exception {
+        reporter.publishEntry(run(false));
+        reporter.publishEntry(run(true));
+    }
+
+    private Map<String, String> run(boolean groupCommit) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SneakerStoreBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("app.checkout.group-commit.enabled=" + groupCommit)
+                .run()) {
+            CheckoutService checkoutService = context.getBean(CheckoutService.class);
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            Fixture fixture = seed(context);
+            try {
+                place(checkoutService, fixture, WARMUP_CHECKOUTS);
+                long started = System.nanoTime();
+                place(checkoutService, fixture, CHECKOUTS);
+                double seconds = (System.nanoTime() - started) / 1e9;
+
+                Integer paid = jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM orders WHERE customer_id = ? AND status = 'PAID'",
+                        Integer.class, fixture.customer().getId());
+                assertThat(paid).isEqualTo(WARMUP_CHECKOUTS + CHECKOUTS);
+
+                String mode = groupCommit ? "grouped" : "single";
+                Map<String, String> report = new LinkedHashMap<>();
+                report.put(mode + ".checkoutsPerSecond", String.format("%.0f", CHECKOUTS / seconds));
+                context.getBean(MeterRegistry.class).find("checkout.group_commit.size").summaries().forEach(size -> {
+                    String step = mode + ".groupSize." + size.getId().getTag("step");
+                    report.put(step + ".count", String.valueOf(size.count()));
+                    report.put(step + ".mean", String.format("%.1f", size.mean()));
+                    report.put(step + ".max", String.format("%.0f", size.max()));
+                });
+                return report;
+            } finally {
+                context.getBean(OutboxDispatcher.class).dispatch();
+                jdbcTemplate.update("DELETE FROM orders WHERE customer_id = ?", fixture.customer().getId());
+                fixture.products().forEach(product ->
+                        jdbcTemplate.update("DELETE FROM products WHERE id = ?", product.getId()));
+                jdbcTemplate.update("DELETE FROM customers WHERE id = ?", fixture.customer().getId());
+            }
+        }
+    }
+
+    private void place(CheckoutService checkoutService, Fixture fixture, int checkouts) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                workers.add(pool.submit(() -> {
+                    for (int i = 0; i < checkouts / THREADS; i++) {
+                        Product product = fixture.products().get(ThreadLocalRandom.current().nextInt(PRODUCTS));
+                        checkoutService.checkout(CheckoutRequestDto.builder()
+                                .customerId(fixture.customer().getId())
+                                .paymentMethod("CARD")
+                                .items(List.of(CheckoutItemDto.builder().productId(product.getId()).quantity(1).build()))
+                                .build());
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private Fixture seed(ConfigurableApplicationContext context) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        List<Product> products = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(productRepository.save(Product.builder()
+                    .sku("GRP-" + suffix + "-" + i)
+                    .name("Group Commit Runner " + suffix + " " + i)
+                    .brand("Bench")
+                    .price(new BigDecimal("120.00"))
+                    .stockQuantity(1_000_000)
+                    .build()));
+        }
+        Customer customer = context.getBean(CustomerRepository.class).save(Customer.builder()
+                .firstName("Group")
+                .lastName("Bench")
+                .email("group-" + suffix + "@example.com")
+                .passwordHash("x")
+                .build());
+        return new Fixture(products, customer);
+    }
+
+    private record Fixture(List<Product> products, Customer customer) {
+    }
+}
@@ -0,0 +1,65 @@
+package edu.yorku.sneaker_store_backend.service.checkout;
+
+import edu.yorku.sneaker_store_backend.dto.CheckoutItemDto;
+import edu.yorku.sneaker_store_backend.dto.CheckoutRequestDto;
+import edu.yorku.sneaker_store_backend.service.checkout.CheckoutMetrics.Outcome;
+import edu.yorku.sneaker_store_backend.service.checkout.CheckoutMetrics.Phase;
+import edu.yorku.sneaker_store_backend.service.checkout.CheckoutMetrics.Timing;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CheckoutMetricsTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CheckoutMetrics metrics = new CheckoutMetrics(meterRegistry, true);
+
+    @Test
+    void recordsOnlyThePhasesThatRanTaggedByOutcome() {
+        Timing timing = metrics.start(request(2));
+        timing.add(Phase.RESOLVE, TimeUnit.MILLISECONDS.toNanos(3));
+        timing.add(Phase.RESOLVE, TimeUnit.MILLISECONDS.toNanos(2));
+        timing.run(Phase.STOCK, () -> { });
+        timing.outcome(Outcome.REJECTED);
+        timing.outcome(Outcome.SUCCESS);
+        metrics.record(timing);
+
+        Timer resolve = meterRegistry.get("checkout.phase")
+                .tags("phase", "resolve", "items", "2-3", "outcome", "rejected")
+                .timer();
+        assertThat(resolve.count()).isEqualTo(1);
+        assertThat(resolve.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(5.0);
+        assertThat(meterRegistry.find("checkout.phase").tag("phase", "stock").timer()).isNotNull();
+        assertThat(meterRegistry.find("checkout.phase").tag("phase", "authorize").timer()).isNull();
+        assertThat(meterRegistry.get("checkout.duration").tags("items", "2-3", "outcome", "rejected").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void checkoutWithoutOutcomeCountsAsError() {
+        metrics.record(metrics.start(request(1)));
+
+        assertThat(meterRegistry.get("checkout.duration").tags("items", "1", "outcome", "error").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void itemCountsAreBucketed() {
+        assertThat(CheckoutMetrics.bucketOf(0)).isEqualTo(0);
+        assertThat(CheckoutMetrics.bucketOf(1)).isEqualTo(1);
+        assertThat(CheckoutMetrics.bucketOf(3)).isEqualTo(2);
+        assertThat(CheckoutMetrics.bucketOf(9)).isEqualTo(3);
+        assertThat(CheckoutMetrics.bucketOf(250)).isEqualTo(4);
+    }
+
+    private static CheckoutRequestDto request(int items) {
+        return CheckoutRequestDto.builder()
+                .items(Collections.nCopies(items, CheckoutItemDto.builder().productId(1L).quantity(1).build()))
+                .build();
+    }
+}
@@ -0,0 +1,114 @@
+package edu.yorku.sneaker_store_backend.service.checkout;
+
+import edu.yorku.sneaker_store_backend.service.checkout.GroupCommitter.Result;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GroupCommitterTests {
+
+    private final List<List<Integer>> groups = new CopyOnWriteArrayList<>();
+    private GroupCommitter<Integer, String> committer;
+
+    @AfterEach
+    void close() {
+        committer.close();
+    }
+
+    @Test
+    void concurrentSubmissionsShareAGroupAndGetTheirOwnResults() throws Exception {
+        committer = new GroupCommitter<>("test-group", 64, Duration.ofMillis(200), this::handle);
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                int input = i;
+                results.add(callers.submit(() -> {
+                    start.await();
+                    return committer.submit(input);
+                }));
+            }
+            start.countDown();
+            for (int i = 0; i < results.size(); i++) {
+                assertThat(results.get(i).get(5, TimeUnit.SECONDS)).isEqualTo("item-" + i);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertThat(groups).hasSizeLessThan(8);
+    }
+
+    @Test
+    void groupsNeverExceedMaxBatch() throws Exception {
+        committer = new GroupCommitter<>("test-group", 2, Duration.ofMillis(200), this::handle);
+
+        ExecutorService callers = Executors.newFixedThreadPool(5);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                int input = i;
+                results.add(callers.submit(() -> committer.submit(input)));
+            }
+            for (Future<String> result : results) {
+                result.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertThat(groups).allSatisfy(group -> assertThat(group).hasSizeLessThanOrEqualTo(2));
+    }
+
+    @Test
+    void failedItemFailsOnlyItsOwnCaller() {
+        committer = new GroupCommitter<>("test-group", 64, Duration.ZERO, this::handle);
+
+        assertThatThrownBy(() -> committer.submit(-1))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("negative");
+        assertThat(committer.submit(3)).isEqualTo("item-3");
+    }
+
+    @Test
+    void handlerFailureFailsTheWholeGroup() {
+        committer = new GroupCommitter<>("test-group", 64, Duration.ZERO, inputs -> {
+            throw new IllegalArgumentException("broken");
+        });
+
+        assertThatThrownBy(() -> committer.submit(1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("broken");
+    }
+
+    @Test
+    void submissionsAfterCloseFailInsteadOfWaiting() {
+        committer = new GroupCommitter<>("test-group", 64, Duration.ZERO, this::handle);
+        committer.close();
+
+        assertThatThrownBy(() -> committer.submit(1))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Group commit is shutting down");
+    }
+
+    private List<Result<String>> handle(List<Integer> inputs) {
+        groups.add(inputs);
+        return inputs.stream()
+                .map(input -> input < 0
+                        ? Result.<String>failed(new IllegalStateException("negative"))
+                        : Result.of("item-" + input))
+                .toList();
+    }
+}
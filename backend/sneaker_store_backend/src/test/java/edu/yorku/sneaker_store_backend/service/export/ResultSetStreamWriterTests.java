@@ -0,0 +1,130 @@
+package edu.yorku.sneaker_store_backend.service.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives the writer with a mocked {@link ResultSet}, so the framing and escaping are checked without
+ * a database.
+ */
+class ResultSetStreamWriterTests {
+
+    private static final String[] COLUMNS = {"id", "name", "price", "availableSizes"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void csvQuotesOnlyFieldsThatNeedIt() throws Exception {
+        String csv = write(ExportFormat.CSV,
+                row(1L, "Plain", new BigDecimal("1E+2"), sizes("9", "10")),
+                row(2L, "Comma, Inc", new BigDecimal("99.50"), sizes()),
+                row(3L, "The \"OG\"", null, null),
+                row(4L, "Line\nbreak", new BigDecimal("5"), sizes("7,5")),
+                row(5L, "Carriage\rreturn", new BigDecimal("5"), null));
+
+        assertThat(csv).isEqualTo("id,name,price,availableSizes\r\n"
+                + "1,Plain,100,9|10\r\n"
+                + "2,\"Comma, Inc\",99.50,\r\n"
+                + "3,\"The \"\"OG\"\"\",,\r\n"
+                + "4,\"Line\nbreak\",5,\"7,5\"\r\n"
+                + "5,\"Carriage\rreturn\",5,\r\n");
+    }
+
+    @Test
+    void csvWithoutRowsIsJustTheHeader() throws Exception {
+        assertThat(write(ExportFormat.CSV)).isEqualTo("id,name,price,availableSizes\r\n");
+    }
+
+    @Test
+    void csvIsUtf8() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ResultSetStreamWriter(ExportFormat.CSV, out, objectMapper.getFactory())
+                .extractData(resultSet(row(1L, "Café", BigDecimal.ONE, null)));
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).contains("1,Café,1,");
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerLine() throws Exception {
+        String ndjson = write(ExportFormat.NDJSON,
+                row(1L, "Air \"Max\"", new BigDecimal("120.00"), sizes("9", "10")),
+                row(2L, "Line\nbreak, with comma", null, null));
+
+        assertThat(ndjson).endsWith("\n");
+        List<String> lines = List.of(ndjson.split("\n"));
+        assertThat(lines).hasSize(2);
+
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertThat(first.get("id").isNumber()).isTrue();
+        assertThat(first.get("id").asLong()).isEqualTo(1L);
+        assertThat(first.get("name").asText()).isEqualTo("Air \"Max\"");
+        assertThat(first.get("price").decimalValue()).isEqualByComparingTo("120.00");
+        assertThat(first.get("availableSizes").toString()).isEqualTo("[\"9\",\"10\"]");
+
+        JsonNode second = objectMapper.readTree(lines.get(1));
+        assertThat(second.get("name").asText()).isEqualTo("Line\nbreak, with comma");
+        assertThat(second.get("price").isNull()).isTrue();
+        assertThat(second.get("availableSizes").isNull()).isTrue();
+    }
+
+    @Test
+    void ndjsonWithoutRowsIsEmpty() throws Exception {
+        assertThat(write(ExportFormat.NDJSON)).isEmpty();
+    }
+
+    @Test
+    void returnsTheNumberOfRowsWritten() throws Exception {
+        ResultSetStreamWriter writer = new ResultSetStreamWriter(ExportFormat.NDJSON, new ByteArrayOutputStream(),
+                objectMapper.getFactory());
+
+        assertThat(writer.extractData(resultSet(row(1L, "A", null, null), row(2L, "B", null, null)))).isEqualTo(2L);
+    }
+
+    private String write(ExportFormat format, Object[]... rows) throws SQLException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ResultSetStreamWriter(format, out, objectMapper.getFactory()).extractData(resultSet(rows));
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static Object[] row(Object... values) {
+        return values;
+    }
+
+    private static Array sizes(String... sizes) throws SQLException {
+        Array array = mock(Array.class);
+        when(array.getArray()).thenReturn(sizes);
+        return array;
+    }
+
+    /**
+     * Forward-only result set over {@code rows} with the {@link #COLUMNS} labels.
+     */
+    private static ResultSet resultSet(Object[]... rows) throws SQLException {
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(COLUMNS.length);
+        when(metaData.getColumnLabel(anyInt())).thenAnswer(call -> COLUMNS[call.<Integer>getArgument(0) - 1]);
+
+        AtomicInteger current = new AtomicInteger(-1);
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getMetaData()).thenReturn(metaData);
+        when(rs.next()).thenAnswer(call -> current.incrementAndGet() < rows.length);
+        when(rs.getObject(anyInt())).thenAnswer(call -> rows[current.get()][call.<Integer>getArgument(0) - 1]);
+        return rs;
+    }
+}
@@ -0,0 +1,126 @@
+package edu.yorku.sneaker_store_backend.service.idempotency;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class IdempotencyServiceTests {
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final String key = "test-" + UUID.randomUUID();
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idempotency_key = ?", key);
+    }
+
+    @Test
+    void concurrentDuplicatesRunOnce() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<IdempotentResponse<String>>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return idempotencyService.execute(key, Map.of("order", 1), String.class, () -> {
+                        executions.incrementAndGet();
+                        sleep(200);
+                        return IdempotentResponse.of(200, "ORD-1");
+                    });
+                }));
+            }
+            start.countDown();
+
+            int replayed = 0;
+            for (Future<IdempotentResponse<String>> future : futures) {
+                IdempotentResponse<String> response = future.get();
+                assertThat(response.status()).isEqualTo(200);
+                assertThat(response.body()).isEqualTo("ORD-1");
+                replayed += response.replayed() ? 1 : 0;
+            }
+            assertThat(executions.get()).isEqualTo(1);
+            assertThat(replayed).isEqualTo(7);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void clientErrorsAreReplayedButServerErrorsReleaseTheKey() {
+        AtomicInteger executions = new AtomicInteger();
+
+        idempotencyService.execute(key, Map.of("order", 1), String.class, () -> {
+            executions.incrementAndGet();
+            return IdempotentResponse.of(500, "boom");
+        });
+        IdempotentResponse<String> rejected = idempotencyService.execute(key, Map.of("order", 1), String.class, () -> {
+            executions.incrementAndGet();
+            return IdempotentResponse.of(400, "Insufficient stock");
+        });
+        IdempotentResponse<String> replay = idempotencyService.execute(key, Map.of("order", 1), String.class, () -> {
+            executions.incrementAndGet();
+            return IdempotentResponse.of(200, "ORD-1");
+        });
+
+        assertThat(executions.get()).isEqualTo(2);
+        assertThat(rejected.replayed()).isFalse();
+        assertThat(replay.replayed()).isTrue();
+        assertThat(replay.status()).isEqualTo(400);
+        assertThat(replay.body()).isEqualTo("Insufficient stock");
+    }
+
+    @Test
+    void actionRunsWithNoTransactionOpenAfterTheClaimCommits() {
+        IdempotentResponse<String> response = idempotencyService.execute(key, Map.of("order", 1), String.class, () -> {
+            assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+            assertThat(jdbcTemplate.queryForObject("SELECT status FROM idempotency_keys WHERE idempotency_key = ?",
+                    String.class, key)).isEqualTo("IN_PROGRESS");
+            return IdempotentResponse.of(200, "ORD-1");
+        });
+
+        assertThat(response.status()).isEqualTo(200);
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM idempotency_keys WHERE idempotency_key = ?",
+                String.class, key)).isEqualTo("COMPLETED");
+    }
+
+    @Test
+    void reusingAKeyForADifferentRequestIsRejected() {
+        idempotencyService.execute(key, Map.of("order", 1), String.class, () -> IdempotentResponse.of(200, "ORD-1"));
+
+        assertThatThrownBy(() -> idempotencyService.execute(key, Map.of("order", 2), String.class,
+                () -> IdempotentResponse.of(200, "ORD-2")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
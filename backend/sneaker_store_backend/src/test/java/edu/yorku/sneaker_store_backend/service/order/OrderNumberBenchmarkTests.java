@@ -0,0 +1,97 @@
+package edu.yorku.sneaker_store_backend.service.order;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the old random {@code "ORD-" + UUID} order numbers with {@link OrderNumberGenerator}:
+ * insert throughput into a table shaped like {@code orders.order_number} (a unique B-tree index),
+ * and the size of that index afterwards. Both are published as report entries; only the index size
+ * is asserted, since wall-clock throughput depends on the machine. Run with {@code ./gradlew benchmark}.
+ */
+@SpringBootTest
+@Tag("benchmark")
+class OrderNumberBenchmarkTests {
+
+    private static final int ROWS = 400_000;
+    private static final int THREADS = 4;
+    private static final int BATCH_SIZE = 1_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderNumberGenerator orderNumberGenerator;
+
+    @AfterEach
+    void dropTables() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS bench_order_numbers_uuid");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS bench_order_numbers_compact");
+    }
+
+    @Test
+    void compactNumbersBuildASmallerIndex(TestReporter reporter) throws Exception {
+        Result uuid = run("bench_order_numbers_uuid", () -> "ORD-" + UUID.randomUUID());
+        Result compact = run("bench_order_numbers_compact", orderNumberGenerator::next);
+
+        reporter.publishEntry(Map.of(
+                "uuid.rowsPerSecond", String.format("%.0f", uuid.rowsPerSecond()),
+                "uuid.indexBytes", String.valueOf(uuid.indexBytes()),
+                "compact.rowsPerSecond", String.format("%.0f", compact.rowsPerSecond()),
+                "compact.indexBytes", String.valueOf(compact.indexBytes())));
+        assertThat(compact.indexBytes()).isLessThan(uuid.indexBytes());
+    }
+
+    private Result run(String table, Supplier<String> numbers) throws Exception {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+        jdbcTemplate.execute("CREATE TABLE " + table + " (id BIGSERIAL PRIMARY KEY, order_number VARCHAR(255) NOT NULL UNIQUE)");
+        String sql = "INSERT INTO " + table + " (order_number) VALUES (?)";
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        long started = System.nanoTime();
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                workers.add(pool.submit(() -> {
+                    for (int inserted = 0; inserted < ROWS / THREADS; inserted += BATCH_SIZE) {
+                        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+                        for (int i = 0; i < BATCH_SIZE; i++) {
+                            batch.add(new Object[]{numbers.get()});
+                        }
+                        jdbcTemplate.batchUpdate(sql, batch);
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        Long indexBytes = jdbcTemplate.queryForObject(
+                "SELECT pg_relation_size(indexrelid) FROM pg_index WHERE indrelid = ?::regclass AND NOT indisprimary",
+                Long.class, table);
+        return new Result(ROWS / seconds, indexBytes);
+    }
+
+    private record Result(double rowsPerSecond, long indexBytes) {
+    }
+}
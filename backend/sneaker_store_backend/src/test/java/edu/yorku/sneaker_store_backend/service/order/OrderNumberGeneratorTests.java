@@ -0,0 +1,75 @@
+package edu.yorku.sneaker_store_backend.service.order;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderNumberGeneratorTests {
+
+    private final AtomicLong clock = new AtomicLong(OrderNumberGenerator.EPOCH_MILLIS + 1_000_000);
+
+    @Test
+    void numbersAreCompactAndSortInIssueOrder() {
+        OrderNumberGenerator generator = new OrderNumberGenerator(3, clock::get);
+        List<String> numbers = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            if (i % 100 == 0) {
+                clock.incrementAndGet();
+            }
+            numbers.add(generator.next());
+        }
+
+        assertThat(numbers).allSatisfy(number -> assertThat(number).hasSize(17).startsWith("ORD-"));
+        assertThat(numbers).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void exhaustedMillisecondBorrowsTheNext() {
+        OrderNumberGenerator generator = new OrderNumberGenerator(0, clock::get);
+        Set<Long> ids = new HashSet<>();
+        long previous = -1;
+        for (int i = 0; i < 3 * 4096; i++) {
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(previous);
+            ids.add(id);
+            previous = id;
+        }
+        assertThat(ids).hasSize(3 * 4096);
+    }
+
+    @Test
+    void nodesNeverCollide() {
+        OrderNumberGenerator first = new OrderNumberGenerator(1, clock::get);
+        OrderNumberGenerator second = new OrderNumberGenerator(2, clock::get);
+        Set<String> numbers = new HashSet<>();
+        for (int i = 0; i < 5_000; i++) {
+            numbers.add(first.next());
+            numbers.add(second.next());
+        }
+        assertThat(numbers).hasSize(10_000);
+    }
+
+    @Test
+    void smallClockStepBackKeepsCountingForward() {
+        OrderNumberGenerator generator = new OrderNumberGenerator(0, clock::get);
+        long before = generator.nextId();
+        clock.addAndGet(-1_000);
+        assertThat(generator.nextId()).isGreaterThan(before);
+
+        clock.addAndGet(-OrderNumberGenerator.MAX_CLOCK_DRIFT_MS);
+        assertThatThrownBy(generator::nextId).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void rejectsNodeIdsOutOfRange() {
+        assertThatThrownBy(() -> new OrderNumberGenerator(OrderNumberGenerator.MAX_NODE_ID + 1, clock::get))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
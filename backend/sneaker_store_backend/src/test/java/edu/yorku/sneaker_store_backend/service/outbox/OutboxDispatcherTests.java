@@ -0,0 +1,203 @@
+package edu.yorku.sneaker_store_backend.service.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.yorku.sneaker_store_backend.service.outbox.CartClearHandler.Clear;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives a dispatcher wired to a scripted {@code CART_CLEAR} handler against the real table. The
+ * application's own dispatcher is parked so it cannot take the test's events.
+ */
+@SpringBootTest(properties = "app.outbox.poll-interval-ms=3600000")
+class OutboxDispatcherTests {
+
+    private static final long POISON = -1L;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    private final List<List<Long>> handled = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    @AfterEach
+    void clearOutbox() {
+        jdbcTemplate.update("DELETE FROM outbox_events");
+    }
+
+    @Test
+    void appliesABatchWithOneHandlerCallAndDeletesIt() {
+        enqueue(1L, 2L, 3L);
+
+        dispatcher(10, Duration.ofSeconds(1)).dispatch();
+
+        assertThat(handled).containsExactly(List.of(1L, 2L, 3L));
+        assertThat(count()).isZero();
+    }
+
+    @Test
+    void failedBatchIsRetriedOneEventAtATime() {
+        enqueue(1L, POISON, 2L);
+
+        dispatcher(10, Duration.ofSeconds(1)).dispatch();
+
+        assertThat(handled).contains(List.of(1L), List.of(2L));
+        Map<String, Object> poison = jdbcTemplate.queryForMap("SELECT status, attempts, last_error FROM outbox_events");
+        assertThat(poison.get("status")).isEqualTo("PENDING");
+        assertThat(poison.get("attempts")).isEqualTo(1);
+        assertThat((String) poison.get("last_error")).contains("poison");
+    }
+
+    @Test
+    void backoffDoublesAndKeepsSubSecondPrecision() {
+        enqueue(POISON);
+        OutboxDispatcher dispatcher = dispatcher(10, Duration.ofMillis(400));
+
+        dispatcher.dispatch();
+        double first = secondsUntilDue();
+        makeDue();
+        dispatcher.dispatch();
+        double second = secondsUntilDue();
+
+        assertThat(first).isBetween(0.2, 0.4);
+        assertThat(second).isBetween(0.6, 0.8);
+    }
+
+    @Test
+    void eventsAreMarkedDeadAfterMaxAttemptsAndLoseTheirPayload() {
+        enqueue(POISON);
+        OutboxDispatcher dispatcher = dispatcher(2, Duration.ofMillis(1));
+
+        dispatcher.dispatch();
+        makeDue();
+        dispatcher.dispatch();
+        makeDue();
+        dispatcher.dispatch();
+
+        Map<String, Object> dead = jdbcTemplate.queryForMap("SELECT status, attempts, payload, last_error FROM outbox_events");
+        assertThat(dead.get("status")).isEqualTo("DEAD");
+        assertThat(dead.get("attempts")).isEqualTo(2);
+        assertThat(dead.get("payload")).isNull();
+        assertThat(dead.get("last_error")).isNotNull();
+    }
+
+    @Test
+    void eventsLockedByAnotherDispatcherAreSkipped() throws Exception {
+        enqueue(1L, 2L);
+        Long locked = jdbcTemplate.queryForObject("SELECT MIN(id) FROM outbox_events", Long.class);
+        OutboxDispatcher dispatcher = dispatcher(10, Duration.ofSeconds(1));
+
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService other = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> holder = other.submit(() -> newTransaction().executeWithoutResult(status -> {
+                jdbcTemplate.queryForObject("SELECT id FROM outbox_events WHERE id = ? FOR UPDATE", Long.class, locked);
+                held.countDown();
+                await(release);
+            }));
+            assertThat(held.await(5, TimeUnit.SECONDS)).isTrue();
+
+            dispatcher.dispatch();
+            assertThat(handled).containsExactly(List.of(2L));
+            assertThat(count()).isEqualTo(1);
+
+            release.countDown();
+            holder.get(5, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            other.shutdownNow();
+        }
+
+        dispatcher.dispatch();
+        assertThat(handled).containsExactly(List.of(2L), List.of(1L));
+        assertThat(count()).isZero();
+    }
+
+    private OutboxDispatcher dispatcher(int maxAttempts, Duration retryBackoff) {
+        OutboxHandler<Clear> handler = new OutboxHandler<>() {
+            @Override
+            public OutboxEventType type() {
+                return OutboxEventType.CART_CLEAR;
+            }
+
+            @Override
+            public Class<Clear> payloadType() {
+                return Clear.class;
+            }
+
+            @Override
+            public void handle(List<Clear> payloads) {
+                List<Long> ids = payloads.stream().map(Clear::customerId).toList();
+                if (ids.contains(POISON)) {
+                    throw new IllegalStateException("poison event");
+                }
+                handled.add(ids);
+            }
+        };
+        return new OutboxDispatcher(jdbcTemplate, objectMapper, transactionManager, List.of(handler),
+                new SimpleMeterRegistry(), 10, maxAttempts, retryBackoff);
+    }
+
+    private void enqueue(Long... customerIds) {
+        newTransaction().executeWithoutResult(status -> outboxService.enqueueAll(List.of(customerIds).stream()
+                .map(id -> new OutboxMessage(OutboxEventType.CART_CLEAR, new Clear(id)))
+                .toList()));
+    }
+
+    private TransactionTemplate newTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+
+    private double secondsUntilDue() {
+        return jdbcTemplate.queryForObject(
+                "SELECT EXTRACT(EPOCH FROM (available_at - CURRENT_TIMESTAMP)) FROM outbox_events", Double.class);
+    }
+
+    private void makeDue() {
+        jdbcTemplate.update("UPDATE outbox_events SET available_at = CURRENT_TIMESTAMP - INTERVAL '1 second'");
+    }
+
+    private int count() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events", Integer.class);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
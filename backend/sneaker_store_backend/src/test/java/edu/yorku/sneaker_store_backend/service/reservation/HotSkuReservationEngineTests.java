@@ -0,0 +1,286 @@
+package edu.yorku.sneaker_store_backend.service.reservation;
+
+import edu.yorku.sneaker_store_backend.dto.CheckoutItemDto;
+import edu.yorku.sneaker_store_backend.dto.CheckoutRequestDto;
+import edu.yorku.sneaker_store_backend.model.Customer;
+import edu.yorku.sneaker_store_backend.model.Product;
+import edu.yorku.sneaker_store_backend.repository.CustomerRepository;
+import edu.yorku.sneaker_store_backend.repository.ProductRepository;
+import edu.yorku.sneaker_store_backend.service.CheckoutService;
+import edu.yorku.sneaker_store_backend.service.outbox.OutboxDispatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the engine against a product configured as a hot SKU. The scheduled sweeper and applier are
+ * parked so each test drives them explicitly.
+ */
+@SpringBootTest(properties = {
+        "app.checkout.hot-skus=" + HotSkuReservationEngineTests.SKU,
+        "app.checkout.reservation-ttl=PT0.2S",
+        "app.checkout.reservation-sweep-interval-ms=3600000",
+        "app.checkout.reservation-apply-interval-ms=3600000"
+})
+class HotSkuReservationEngineTests {
+
+    static final String SKU = "HOT-ENGINE-TEST";
+
+    private static final int INITIAL_STOCK = 50;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private HotSkuReservationEngine engine;
+
+    @Autowired
+    private CheckoutService checkoutService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("primaryPool")
+    private DataSource primaryPool;
+
+    private Product product;
+    private Customer customer;
+
+    @BeforeEach
+    void seedHotSku() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        product = productRepository.save(Product.builder()
+                .sku(SKU)
+                .name("Hot Runner " + suffix)
+                .brand("Test")
+                .price(new BigDecimal("200.00"))
+                .stockQuantity(INITIAL_STOCK)
+                .build());
+        customer = customerRepository.save(Customer.builder()
+                .firstName("Hot")
+                .lastName("Test")
+                .email("hot-" + suffix + "@example.com")
+                .passwordHash("x")
+                .build());
+        engine.reload();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        outboxDispatcher.dispatch();
+        jdbcTemplate.update("DELETE FROM orders WHERE customer_id = ?", customer.getId());
+        jdbcTemplate.update("DELETE FROM products WHERE id = ?", product.getId());
+        jdbcTemplate.update("DELETE FROM customers WHERE id = ?", customer.getId());
+        engine.reload();
+    }
+
+    @Test
+    void concurrentReservationsNeverOversell() throws Exception {
+        AtomicInteger reserved = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < INITIAL_STOCK * 3; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    transaction().executeWithoutResult(status -> engine.reserve(product.getId(), 1)
+                            .ifPresent(token -> {
+                                engine.confirm(List.of(token), null);
+                                reserved.incrementAndGet();
+                            }));
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(reserved.get()).isEqualTo(INITIAL_STOCK);
+        assertThat(engine.available(product.getId())).isZero();
+        assertThat(confirmedUnits()).isEqualTo(INITIAL_STOCK);
+    }
+
+    @Test
+    void concurrentCheckoutsOfAHotSkuNeverOversell() throws Exception {
+        AtomicInteger sold = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < INITIAL_STOCK * 2; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        checkoutService.checkout(checkout());
+                        sold.incrementAndGet();
+                    } catch (IllegalStateException ex) {
+                        // Sold out.
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(sold.get()).isEqualTo(INITIAL_STOCK);
+        assertThat(stockQuantity()).isEqualTo(INITIAL_STOCK);
+        engine.applyConfirmed();
+        assertThat(stockQuantity()).isZero();
+    }
+
+    @Test
+    void rolledBackOrUnconfirmedReservationsAreReleased() {
+        transaction().executeWithoutResult(status -> {
+            assertThat(engine.reserve(product.getId(), 3)).isPresent();
+            assertThat(engine.available(product.getId())).isEqualTo(INITIAL_STOCK - 3);
+            status.setRollbackOnly();
+        });
+        assertThat(engine.available(product.getId())).isEqualTo(INITIAL_STOCK);
+
+        transaction().executeWithoutResult(status -> engine.reserve(product.getId(), 2));
+        assertThat(engine.available(product.getId())).isEqualTo(INITIAL_STOCK);
+        assertThat(confirmedUnits()).isZero();
+    }
+
+    @Test
+    void expiredReservationsAreHandedBackAndRetakenIfTheyCommit() {
+        transaction().executeWithoutResult(status -> {
+            ReservationToken token = engine.reserve(product.getId(), 4).orElseThrow();
+            engine.confirm(List.of(token), null);
+            sleep(Duration.ofMillis(300));
+
+            engine.expireReservations();
+            assertThat(engine.available(product.getId())).isEqualTo(INITIAL_STOCK);
+        });
+
+        assertThat(engine.available(product.getId())).isEqualTo(INITIAL_STOCK - 4);
+        assertThat(confirmedUnits()).isEqualTo(4);
+    }
+
+    @Test
+    void expiredReservationsThatRollBackAreNotReleasedTwice() {
+        transaction().executeWithoutResult(status -> {
+            engine.reserve(product.getId(), 4).orElseThrow();
+            sleep(Duration.ofMillis(300));
+            engine.expireReservations();
+            status.setRollbackOnly();
+        });
+
+        assertThat(engine.available(product.getId())).isEqualTo(INITIAL_STOCK);
+    }
+
+    @Test
+    void confirmedReservationsAreWrittenBehindToTheProduct() {
+        reserveAndConfirm(5);
+        assertThat(stockQuantity()).isEqualTo(INITIAL_STOCK);
+
+        engine.applyConfirmed();
+
+        assertThat(stockQuantity()).isEqualTo(INITIAL_STOCK - 5);
+        assertThat(confirmedUnits()).isZero();
+        assertThat(engine.available(product.getId())).isEqualTo(INITIAL_STOCK - 5);
+    }
+
+    @Test
+    void restartRebuildsCountersFromStockMinusUnappliedReservations() {
+        reserveAndConfirm(4);
+
+        HotSkuReservationEngine restarted = new HotSkuReservationEngine(jdbcTemplate, primaryPool,
+                transactionManager, SKU, Duration.ofMinutes(2), 500);
+        restarted.recover();
+
+        assertThat(restarted.isHot(product.getId())).isTrue();
+        assertThat(restarted.available(product.getId())).isEqualTo(INITIAL_STOCK - 4);
+    }
+
+    @Test
+    void reloadPicksUpStockReturnedByCompensation() {
+        reserveAndConfirm(4);
+        engine.applyConfirmed();
+
+        jdbcTemplate.update("UPDATE products SET stock_quantity = stock_quantity + 4 WHERE id = ?", product.getId());
+        engine.reloadAfterCommit();
+
+        assertThat(engine.available(product.getId())).isEqualTo(INITIAL_STOCK);
+    }
+
+    private void reserveAndConfirm(int quantity) {
+        transaction().executeWithoutResult(status ->
+                engine.confirm(List.of(engine.reserve(product.getId(), quantity).orElseThrow()), null));
+    }
+
+    private TransactionTemplate transaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+
+    private int stockQuantity() {
+        return jdbcTemplate.queryForObject("SELECT stock_quantity FROM products WHERE id = ?", Integer.class,
+                product.getId());
+    }
+
+    private int confirmedUnits() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(quantity), 0) FROM stock_reservations WHERE product_id = ? AND status = 'CONFIRMED'",
+                Integer.class, product.getId());
+    }
+
+    private CheckoutRequestDto checkout() {
+        return CheckoutRequestDto.builder()
+                .customerId(customer.getId())
+                .paymentMethod("CARD")
+                .items(List.of(CheckoutItemDto.builder().productId(product.getId()).quantity(1).build()))
+                .build();
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}